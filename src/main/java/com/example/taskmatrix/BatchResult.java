@@ -0,0 +1,35 @@
+package com.example.taskmatrix;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch create, update or delete request.
+ * @param succeeded Number of items that were applied.
+ * @param failed Number of items that were rejected.
+ * @param items Per-item outcome, in request order.
+ */
+public record BatchResult(int succeeded, int failed, List<ItemResult> items) {
+
+    public static BatchResult of(List<ItemResult> items) {
+        int succeeded = (int) items.stream().filter(ItemResult::success).count();
+        return new BatchResult(succeeded, items.size() - succeeded, items);
+    }
+
+    /**
+     * Outcome of a single batch item.
+     * @param index Position of the item in the request.
+     * @param id Id of the affected task, if known.
+     * @param success Whether the item was applied.
+     * @param error Reason the item was rejected, or null on success.
+     */
+    public record ItemResult(int index, Long id, boolean success, String error) {
+
+        public static ItemResult succeeded(int index, Long id) {
+            return new ItemResult(index, id, true, null);
+        }
+
+        public static ItemResult failed(int index, Long id, String error) {
+            return new ItemResult(index, id, false, error);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.taskmatrix;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so an input of any size is parsed with a bounded amount of memory.
+ * Fields are separated by commas and may be quoted with double quotes; a quoted field can contain commas, line
+ * breaks and doubled quotes. Records end at CRLF, LF or CR. Blank lines are skipped and a leading byte order mark
+ * is ignored.
+ */
+final class CsvReader implements Closeable {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = EOF - 1;
+    private boolean started;
+
+    /**
+     * @param reader The CSV text; buffered internally.
+     * @param maxRecordLength Largest number of characters one record may have.
+     */
+    CsvReader(Reader reader, int maxRecordLength) {
+        this.reader = new BufferedReader(reader);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Reads the next record.
+     * @return The record's fields, or null at the end of the input.
+     * @throws CsvFormatException if the record is malformed or too long; the rest of the input cannot be read.
+     * @throws IOException if reading the input fails.
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        while (c == '\r' || c == '\n') {
+            skipLineBreak(c);
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int length = 0;
+        boolean quoted = false;
+        while (true) {
+            if (++length > maxRecordLength) {
+                throw new CsvFormatException(recordLine, "Record is longer than " + maxRecordLength + " characters.");
+            }
+            if (quoted) {
+                if (c == EOF) {
+                    throw new CsvFormatException(recordLine, "Quoted field is not closed.");
+                } else if (c == '"') {
+                    c = read();
+                    if (c == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (c != ',' && c != '\r' && c != '\n' && c != EOF) {
+                            throw new CsvFormatException(recordLine, "Unexpected character after closing quote.");
+                        }
+                        continue;
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                fields.add(field.toString());
+                if (c != EOF) {
+                    skipLineBreak(c);
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return The line on which the record last returned by {@link #next} started, counting from 1.
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Called with the CR or LF just read; consumes the LF of a CRLF pair so it counts as one line break.
+    private void skipLineBreak(int c) throws IOException {
+        line++;
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack >= EOF) {
+            int c = pushedBack;
+            pushedBack = EOF - 1;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (pushedBack < EOF) {
+            pushedBack = reader.read();
+        }
+        return pushedBack;
+    }
+
+    /**
+     * The input is not valid CSV at the given line.
+     */
+    static final class CsvFormatException extends RuntimeException {
+
+        private final long line;
+
+        CsvFormatException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        long getLine() {
+            return line;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.taskmatrix;
+
+import com.example.taskmatrix.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fair admission limit in front of the database.
+ * Every {@link TaskService} call, the only path from requests to {@link TaskRepository}, must hold a permit
+ * for its whole duration, including its transaction. With virtual threads there is no request thread
+ * pool to cap concurrency, so this caps the number of concurrent request-driven database callers.
+ * Callers queue in arrival order and get a 503 if no permit frees up in time.
+ * The advice wraps the transaction interceptor, so a caller never holds a connection while it waits.
+ * <p>
+ * Background jobs use the repository directly and take no permit: the {@link UrgencyEscalator} run, the
+ * {@link TaskSearchIndex} rebuild, which holds a connection for its whole stream, and the startup
+ * rebuilds of {@link TaskColumnStore} and {@link LabelTrigramIndex}. The connection pool must be larger
+ * than {@code max-concurrency} by at least one connection per such job, otherwise admitted callers wait
+ * for a connection instead of being turned away quickly.
+ * <p>
+ * Streaming exports and CSV imports last as long as their client keeps sending or reading, so they get a
+ * small lane of their own, carved out of the total: {@code max-bulk-concurrency} permits for them and the
+ * rest for every other call. However many slow exports or uploads are running, point reads and writes
+ * never queue behind them, and the total number of callers still stays within {@code max-concurrency}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatabaseAdmissionLimiter {
+
+    private final Lane pointLane;
+    private final Lane bulkLane;
+    private final Duration timeout;
+
+    /**
+     * Constructs a DatabaseAdmissionLimiter.
+     * @param maxConcurrency Largest number of concurrent service calls, bulk ones included; keep it below the
+     *                       connection pool size by at least the number of background jobs.
+     * @param maxBulkConcurrency How many of those may be streaming exports or imports; must be below maxConcurrency.
+     * @param timeout How long a caller waits for a permit before it is rejected.
+     * @param meterRegistry Registry for the wait time, rejection and queue-length metrics.
+     */
+    @Autowired
+    public DatabaseAdmissionLimiter(@Value("${taskmatrix.db.max-concurrency:10}") int maxConcurrency,
+                                    @Value("${taskmatrix.db.max-bulk-concurrency:2}") int maxBulkConcurrency,
+                                    @Value("${taskmatrix.db.admission-timeout:5s}") Duration timeout,
+                                    MeterRegistry meterRegistry) {
+        if (maxBulkConcurrency < 1 || maxBulkConcurrency >= maxConcurrency) {
+            throw new IllegalArgumentException("taskmatrix.db.max-bulk-concurrency must be at least 1 and below "
+                    + "taskmatrix.db.max-concurrency (" + maxConcurrency + "), was " + maxBulkConcurrency);
+        }
+        this.pointLane = new Lane("point", maxConcurrency - maxBulkConcurrency, meterRegistry);
+        this.bulkLane = new Lane("bulk", maxBulkConcurrency, meterRegistry);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Calls that last as long as a client stream: the NDJSON export and the CSV import.
+     */
+    @Pointcut("execution(public * com.example.taskmatrix.TaskService.streamTasks(..))"
+            + " || execution(public * com.example.taskmatrix.TaskService.importTasks(..))")
+    void bulkCall() {
+    }
+
+    /**
+     * Runs the service call once a permit is available.
+     * @throws DatabaseBusyException if no permit became available within the timeout.
+     */
+    @Around("execution(public * com.example.taskmatrix.TaskService.*(..)) && !bulkCall()")
+    public Object admit(ProceedingJoinPoint joinPoint) throws Throwable {
+        return admit(pointLane, joinPoint);
+    }
+
+    /**
+     * Runs a streaming export or import once a bulk permit is available.
+     * @throws DatabaseBusyException if no bulk permit became available within the timeout.
+     */
+    @Around("bulkCall()")
+    public Object admitBulk(ProceedingJoinPoint joinPoint) throws Throwable {
+        return admit(bulkLane, joinPoint);
+    }
+
+    private Object admit(Lane lane, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lane.permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrupted while waiting for the database.");
+        }
+        lane.waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            lane.rejections.increment();
+            throw new DatabaseBusyException("The database is busy, please retry later.");
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            lane.permits.release();
+        }
+    }
+
+    /**
+     * @return The number of permits for calls other than exports and imports currently free.
+     */
+    public int availablePermits() {
+        return pointLane.permits.availablePermits();
+    }
+
+    /**
+     * @return The number of permits for exports and imports currently free.
+     */
+    public int availableBulkPermits() {
+        return bulkLane.permits.availablePermits();
+    }
+
+    /**
+     * One fair semaphore with its metrics, tagged with the lane name.
+     */
+    private static final class Lane {
+
+        private final Semaphore permits;
+        private final Timer waitTimer;
+        private final Counter rejections;
+
+        Lane(String name, int size, MeterRegistry meterRegistry) {
+            this.permits = new Semaphore(size, true);
+            this.waitTimer = Timer.builder("taskmatrix.db.admission.wait")
+                    .description("Time spent waiting for a database admission permit")
+                    .tag("lane", name)
+                    .register(meterRegistry);
+            this.rejections = Counter.builder("taskmatrix.db.admission.rejected")
+                    .description("Calls rejected because no database admission permit became available in time")
+                    .tag("lane", name)
+                    .register(meterRegistry);
+            Gauge.builder("taskmatrix.db.admission.queued", permits, Semaphore::getQueueLength)
+                    .description("Callers waiting for a database admission permit")
+                    .tag("lane", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.taskmatrix;
+
+/**
+ * Buckets used to group tasks by due date relative to today.
+ */
+public enum DueDateBucket {
+    OVERDUE,      // Due before today
+    TODAY,        // Due today
+    THIS_WEEK,    // Due within the next six days
+    LATER,        // Due a week or more from today
+    NO_DUE_DATE   // No due date set
+}
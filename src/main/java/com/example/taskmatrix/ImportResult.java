@@ -0,0 +1,23 @@
+package com.example.taskmatrix;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV import.
+ * @param imported Number of rows inserted as tasks.
+ * @param failed Number of rows rejected.
+ * @param errors Why rows were rejected, in input order; at most {@link TaskService#MAX_IMPORT_ERRORS} are listed.
+ * @param errorsTruncated Whether more rows were rejected than are listed in {@code errors}.
+ * @param complete Whether the whole input was read; false if malformed CSV stopped the import, in which
+ *                 case the rows before it were still imported.
+ */
+public record ImportResult(long imported, long failed, List<LineError> errors, boolean errorsTruncated, boolean complete) {
+
+    /**
+     * Why one row, or a chunk of rows starting at {@code line}, was rejected.
+     * @param line Line of the input on which the row starts; the header is line 1.
+     * @param error The reason.
+     */
+    public record LineError(long line, String error) {
+    }
+}
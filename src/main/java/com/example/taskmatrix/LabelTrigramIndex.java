@@ -0,0 +1,219 @@
+package com.example.taskmatrix;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over {@link Task#getLabel()}, used to answer the case-insensitive
+ * "label contains" filter without a full table scan.
+ * The index maps every three-character sequence of a lower-cased label to the ids of the tasks
+ * carrying it. A lookup intersects the posting lists of the search term's trigrams and then checks
+ * each candidate against its stored label, so it returns exactly the ids the SQL {@code LIKE} would match.
+ * It is kept current from {@link TaskChangedEvent}s and rebuilt from the database at startup.
+ */
+@Component
+public class LabelTrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final TaskRepository taskRepository;
+    private final int maxCandidates;
+
+    private final Map<Long, String> labels = new HashMap<>();
+    private final Map<Long, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Ids changed by events while a rebuild is running; their event state wins over the rebuild's snapshot.
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * Constructs a LabelTrigramIndex.
+     * @param taskRepository The repository used to rebuild the index.
+     * @param maxCandidates Largest number of matching ids the index hands back; broader terms fall back to SQL.
+     */
+    @Autowired
+    public LabelTrigramIndex(TaskRepository taskRepository,
+                             @Value("${taskmatrix.label-index.max-candidates:1000}") int maxCandidates) {
+        this.taskRepository = taskRepository;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Finds the ids of all tasks whose label contains the given term, ignoring case.
+     * @param term The search term.
+     * @return The matching ids, or empty if the index cannot answer exactly (not built yet, the term contains
+     *         SQL wildcard characters, or too many tasks match), in which case the caller should filter in SQL.
+     */
+    public Optional<Set<Long>> findIdsContaining(String term) {
+        if (!ready || term == null || term.isEmpty() || hasLikeWildcards(term)) {
+            return Optional.empty();
+        }
+        String needle = term.toLowerCase();
+        lock.readLock().lock();
+        try {
+            Set<Long> matches = needle.length() < GRAM ? scanLabels(needle) : intersectPostings(needle);
+            return matches == null ? Optional.empty() : Optional.of(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Rebuilds the index from the task table once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rebuilding = true;
+            touchedDuringRebuild.clear();
+            labels.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try (Stream<TaskRepository.TaskLabel> rows = taskRepository.streamLabels()) {
+            rows.forEach(row -> {
+                lock.writeLock().lock();
+                try {
+                    if (!touchedDuringRebuild.contains(row.getId())) {
+                        put(row.getId(), row.getLabel());
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+        }
+
+        lock.writeLock().lock();
+        try {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed task change to the index.
+     * Runs before {@link TaskQueryCache} invalidates cached results that may depend on the index.
+     * @param event The change published by {@link TaskService}.
+     */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                touchedDuringRebuild.add(event.taskId());
+            }
+            remove(event.taskId());
+            if (event.task() != null) {
+                put(event.taskId(), event.task().getLabel());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Long id, String label) {
+        if (label == null || label.isEmpty()) {
+            return;
+        }
+        String lower = label.toLowerCase();
+        labels.put(id, lower);
+        for (long gram : trigrams(lower)) {
+            postings.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void remove(Long id) {
+        String previous = labels.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (long gram : trigrams(previous)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private Set<Long> scanLabels(String needle) {
+        Set<Long> matches = new HashSet<>();
+        for (Map.Entry<Long, String> entry : labels.entrySet()) {
+            if (entry.getValue().contains(needle)) {
+                matches.add(entry.getKey());
+                if (matches.size() > maxCandidates) {
+                    return null;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private Set<Long> intersectPostings(String needle) {
+        List<Set<Long>> lists = new ArrayList<>();
+        for (long gram : trigrams(needle)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+        // Walk the shortest posting list and verify each candidate against its full label.
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> matches = new HashSet<>();
+        for (Long id : lists.get(0)) {
+            if (labels.get(id).contains(needle)) {
+                matches.add(id);
+                if (matches.size() > maxCandidates) {
+                    return null;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static boolean hasLikeWildcards(String term) {
+        // The SQL filter passes the term to LIKE unescaped, so '%', '_' and H2's default escape character (backslash) are special there.
+        return term.indexOf('%') >= 0 || term.indexOf('_') >= 0 || term.indexOf('\\') >= 0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.taskmatrix;
+
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.function.Function;
+
+/**
+ * The filters, sort and limit of the matrix page, as given by its query parameters.
+ * @param params The raw (decoded) query parameters, kept to build links that preserve them.
+ */
+record MatrixView(
+        String label,
+        LocalDate dueDateBefore,
+        LocalDate dueDateAfter,
+        Importance importance,
+        Urgency urgency,
+        Quadrant quadrant,
+        String sortBy,
+        String sortDir,
+        Integer limit,
+        MultiValueMap<String, String> params) {
+
+    /**
+     * Reads the view from a page query string such as {@code label=work&sortBy=dueDate}.
+     * Values that don't parse are ignored, as the page itself was already rendered with valid ones.
+     * @param query The URL-encoded query string, possibly empty.
+     * @return The view.
+     */
+    static MatrixView parse(String query) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        UriComponentsBuilder.newInstance().query(query).build().getQueryParams()
+                .forEach((name, values) -> values.forEach(value ->
+                        params.add(decode(name), value == null ? "" : decode(value))));
+        return new MatrixView(
+                params.getFirst("label"),
+                value(params, "dueDateBefore", LocalDate::parse),
+                value(params, "dueDateAfter", LocalDate::parse),
+                value(params, "importance", Importance::valueOf),
+                value(params, "urgency", Urgency::valueOf),
+                value(params, "quadrant", Quadrant::valueOf),
+                StringUtils.hasText(params.getFirst("sortBy")) ? params.getFirst("sortBy") : "id",
+                StringUtils.hasText(params.getFirst("sortDir")) ? params.getFirst("sortDir") : "asc",
+                value(params, "limit", Integer::valueOf),
+                params);
+    }
+
+    private static <T> T value(MultiValueMap<String, String> params, String name, Function<String, T> parser) {
+        String value = params.getFirst(name);
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
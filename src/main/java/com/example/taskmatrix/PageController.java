@@ -9,22 +9,37 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.MultiValueMap;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Controller
 public class PageController {
 
+    /**
+     * Request header marking a write sent in the background by the matrix page. Its value is the page's query
+     * string, so the affected quadrants can be rendered with the filters and sort the page shows.
+     */
+    public static final String VIEW_HEADER = "X-Matrix-View";
+
+    private static final String QUADRANTS_FRAGMENT = "fragments/quadrant :: quadrants";
+
     private final TaskService taskService;
+    private final TaskMatrixService taskMatrixService;
 
     @Autowired
-    public PageController(TaskService taskService) {
+    public PageController(TaskService taskService, TaskMatrixService taskMatrixService) {
         this.taskService = taskService;
+        this.taskMatrixService = taskMatrixService;
     }
 
     @GetMapping("/")
@@ -37,40 +52,12 @@ public class PageController {
             @RequestParam(required = false) Urgency urgency,
             @RequestParam(required = false) Quadrant quadrant,
             @RequestParam(required = false, defaultValue = "id") String sortBy,
-            @RequestParam(required = false, defaultValue = "asc") String sortDir) {
-
-        List<Task> allTasks = taskService.getAllTasks(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant, sortBy, sortDir);
-
-        List<Task> importantUrgentTasks = new ArrayList<>();
-        List<Task> importantNotUrgentTasks = new ArrayList<>();
-        List<Task> notImportantUrgentTasks = new ArrayList<>();
-        List<Task> notImportantNotUrgentTasks = new ArrayList<>();
-
-        for (Task task : allTasks) {
-            Quadrant q = task.getQuadrant(); // Assumes getQuadrant() is null-safe and always returns a valid Quadrant
-            if (q != null) { // Should always be true given Task constraints
-                switch (q) {
-                    case IMPORTANT_URGENT:
-                        importantUrgentTasks.add(task);
-                        break;
-                    case IMPORTANT_NOT_URGENT:
-                        importantNotUrgentTasks.add(task);
-                        break;
-                    case NOT_IMPORTANT_URGENT:
-                        notImportantUrgentTasks.add(task);
-                        break;
-                    case NOT_IMPORTANT_NOT_URGENT:
-                        notImportantNotUrgentTasks.add(task);
-                        break;
-                }
-            }
-        }
-
-        model.addAttribute("importantUrgentTasks", importantUrgentTasks);
-        model.addAttribute("importantNotUrgentTasks", importantNotUrgentTasks);
-        model.addAttribute("notImportantUrgentTasks", notImportantUrgentTasks);
-        model.addAttribute("notImportantNotUrgentTasks", notImportantNotUrgentTasks);
+            @RequestParam(required = false, defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam MultiValueMap<String, String> params) {
 
+        MatrixView view = new MatrixView(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant, sortBy, sortDir, limit, params);
+        addQuadrants(model, view, EnumSet.allOf(Quadrant.class));
 
         // Add filter/sort parameters to the model to repopulate the form
         model.addAttribute("currentLabel", label);
@@ -86,11 +73,84 @@ public class PageController {
         model.addAttribute("importanceValues", Importance.values());
         model.addAttribute("urgencyValues", Urgency.values());
         model.addAttribute("quadrantValues", Quadrant.values()); // For the filter dropdown
-        model.addAttribute("sortByOptions", List.of("id", "title", "dueDate", "label", "importance", "urgency"));
+        model.addAttribute("sortByOptions", List.of("id", "title", "dueDate", "label", "importance", "urgency", "quadrant"));
 
         return "index";
     }
 
+    // Render a single quadrant card of the page with the same filters, e.g. to refresh it in place
+    @GetMapping("/tasks/quadrants/{quadrant}")
+    public String getQuadrantFragment(
+            Model model,
+            @PathVariable("quadrant") Quadrant renderedQuadrant,
+            @RequestParam(required = false) String label,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateAfter,
+            @RequestParam(required = false) Importance importance,
+            @RequestParam(required = false) Urgency urgency,
+            @RequestParam(required = false) Quadrant quadrant,
+            @RequestParam(required = false, defaultValue = "id") String sortBy,
+            @RequestParam(required = false, defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam MultiValueMap<String, String> params) {
+
+        MatrixView view = new MatrixView(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant, sortBy, sortDir, limit, params);
+        addQuadrants(model, view, EnumSet.of(renderedQuadrant));
+        return QUADRANTS_FRAGMENT;
+    }
+
+    /**
+     * Loads the given quadrants (each with its own bounded query) and adds what the quadrant fragment renders.
+     */
+    private void addQuadrants(Model model, MatrixView view, Set<Quadrant> quadrants) {
+        TaskMatrix matrix = taskMatrixService.getQuadrants(quadrants, view.label(), view.dueDateBefore(), view.dueDateAfter(),
+                view.importance(), view.urgency(), view.quadrant(), view.sortBy(), view.sortDir(), view.limit());
+
+        Map<String, List<Task>> quadrantTasks = new HashMap<>();
+        for (Quadrant q : quadrants) {
+            quadrantTasks.put(q.name(), matrix.tasks(q));
+        }
+        model.addAttribute("quadrantTasks", quadrantTasks);
+        model.addAttribute("renderedQuadrants", quadrants.stream().map(Quadrant::name).toList());
+
+        // Quadrant header counts come from the same aggregate query as the quadrant facets of GET /api/tasks/facets
+        Map<String, Long> quadrantCounts = new HashMap<>();
+        matrix.counts().forEach((q, count) -> quadrantCounts.put(q.name(), count));
+        model.addAttribute("quadrantCounts", quadrantCounts);
+
+        // "Show more" focuses the page on one quadrant and raises its limit
+        Map<String, String> quadrantShowMore = new HashMap<>();
+        for (Quadrant q : quadrants) {
+            if (matrix.hasMore(q)) {
+                quadrantShowMore.put(q.name(), ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/")
+                        .queryParams(view.params())
+                        .replaceQueryParam("quadrant", q.name())
+                        .replaceQueryParam("limit", Math.min(matrix.limit() * 2, TaskService.MAX_PAGE_SIZE))
+                        .toUriString());
+            }
+        }
+        model.addAttribute("quadrantShowMore", quadrantShowMore);
+    }
+
+    /**
+     * Finishes a write from the page: a background write (see {@link #VIEW_HEADER}) gets back only the quadrants
+     * it touched, rendered for the page's filters; a plain form post is redirected to the whole page.
+     */
+    private String afterWrite(Model model, String viewQuery, Quadrant... affected) {
+        if (viewQuery == null) {
+            return "redirect:/";
+        }
+        Set<Quadrant> quadrants = EnumSet.noneOf(Quadrant.class);
+        for (Quadrant q : affected) {
+            if (q != null) {
+                quadrants.add(q);
+            }
+        }
+        addQuadrants(model, MatrixView.parse(viewQuery), quadrants);
+        return QUADRANTS_FRAGMENT;
+    }
+
     // Show Add Task Form
     @GetMapping("/tasks/add")
     public String showAddTaskForm(Model model) {
@@ -102,14 +162,16 @@ public class PageController {
 
     // Save New Task
     @PostMapping("/tasks/save")
-    public String saveTask(@Valid @ModelAttribute("task") Task task, BindingResult result, Model model) {
+    public String saveTask(@Valid @ModelAttribute("task") Task task, BindingResult result, Model model,
+                           @RequestHeader(value = VIEW_HEADER, required = false) String viewQuery) {
         if (result.hasErrors()) {
             model.addAttribute("importanceValues", Importance.values());
             model.addAttribute("urgencyValues", Urgency.values());
             return "add-task";
         }
+        Task created;
         try {
-            taskService.createTask(task);
+            created = taskService.createTask(task);
         } catch (IllegalArgumentException e) {
             // This can happen if title is blank or importance/urgency is null,
             // even if @Valid is used, depending on how @NotBlank vs @NotNull is handled by service.
@@ -120,7 +182,7 @@ public class PageController {
             model.addAttribute("urgencyValues", Urgency.values());
             return "add-task";
         }
-        return "redirect:/";
+        return afterWrite(model, viewQuery, created.getQuadrant());
     }
 
     // Show Edit Task Form
@@ -140,7 +202,8 @@ public class PageController {
     // Update Existing Task
     @PostMapping("/tasks/update/{id}")
     public String updateTask(@PathVariable("id") Long id, @Valid @ModelAttribute("task") Task task,
-                             BindingResult result, Model model) {
+                             BindingResult result, Model model,
+                             @RequestHeader(value = VIEW_HEADER, required = false) String viewQuery) {
         if (result.hasErrors()) {
             model.addAttribute("importanceValues", Importance.values());
             model.addAttribute("urgencyValues", Urgency.values());
@@ -148,8 +211,10 @@ public class PageController {
             task.setId(id); // Make sure id is set for the form action
             return "edit-task";
         }
+        // The task may move out of one quadrant into another; both need re-rendering.
+        TaskUpdate updated;
         try {
-            taskService.updateTask(id, task);
+            updated = taskService.updateTaskWithPreviousQuadrant(id, task);
         } catch (IllegalArgumentException e) {
             model.addAttribute("errorMessage", e.getMessage());
             model.addAttribute("importanceValues", Importance.values());
@@ -157,13 +222,14 @@ public class PageController {
             task.setId(id); // Make sure id is set for the form action
             return "edit-task";
         }
-        return "redirect:/";
+        return afterWrite(model, viewQuery, updated.previousQuadrant(), updated.task().getQuadrant());
     }
 
     // Delete Task
     @PostMapping("/tasks/delete/{id}")
-    public String deleteTask(@PathVariable("id") Long id) {
-        taskService.deleteTask(id);
-        return "redirect:/";
+    public String deleteTask(@PathVariable("id") Long id, Model model,
+                             @RequestHeader(value = VIEW_HEADER, required = false) String viewQuery) {
+        Task deleted = taskService.deleteTask(id);
+        return afterWrite(model, viewQuery, deleted.getQuadrant());
     }
 }
@@ -7,5 +7,24 @@ public enum Quadrant {
     IMPORTANT_URGENT,       // Quadrant 1: Important and Urgent
     IMPORTANT_NOT_URGENT,   // Quadrant 2: Important and Not Urgent
     NOT_IMPORTANT_URGENT,   // Quadrant 3: Not Important and Urgent
-    NOT_IMPORTANT_NOT_URGENT // Quadrant 4: Not Important and Not Urgent
+    NOT_IMPORTANT_NOT_URGENT; // Quadrant 4: Not Important and Not Urgent
+
+    /**
+     * Returns the quadrant for the given importance and urgency.
+     * @param importance The task's importance.
+     * @param urgency The task's urgency.
+     * @return The matching {@link Quadrant}, or null if either argument is null.
+     */
+    public static Quadrant of(Importance importance, Urgency urgency) {
+        if (importance == Importance.IMPORTANT && urgency == Urgency.URGENT) {
+            return IMPORTANT_URGENT;
+        } else if (importance == Importance.IMPORTANT && urgency == Urgency.NOT_URGENT) {
+            return IMPORTANT_NOT_URGENT;
+        } else if (importance == Importance.NOT_IMPORTANT && urgency == Urgency.URGENT) {
+            return NOT_IMPORTANT_URGENT;
+        } else if (importance == Importance.NOT_IMPORTANT && urgency == Urgency.NOT_URGENT) {
+            return NOT_IMPORTANT_NOT_URGENT;
+        }
+        return null;
+    }
 }
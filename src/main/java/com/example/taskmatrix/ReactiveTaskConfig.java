@@ -0,0 +1,52 @@
+package com.example.taskmatrix;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+
+/**
+ * Infrastructure for {@link ReactiveTaskService}: a non-blocking R2DBC connection pool on the same database
+ * the JPA side uses. The pool is deliberately not exposed as a {@code ConnectionFactory} bean (see
+ * {@link TaskmatrixApplication}), and is sized separately from the JDBC pool by {@code taskmatrix.r2dbc.pool-size}.
+ */
+@Configuration
+public class ReactiveTaskConfig implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    /**
+     * Creates the template the reactive task queries run on.
+     * @param url R2DBC URL of the task database; must point at the same database as {@code spring.datasource.url}.
+     * @param username Database user.
+     * @param password Database password.
+     * @param poolSize Maximum number of open R2DBC connections.
+     */
+    @Bean
+    public R2dbcEntityTemplate reactiveTaskTemplate(
+            @Value("${taskmatrix.r2dbc.url:r2dbc:h2:mem:///taskmatrixdb}") String url,
+            @Value("${taskmatrix.r2dbc.username:sa}") String username,
+            @Value("${taskmatrix.r2dbc.password:}") String password,
+            @Value("${taskmatrix.r2dbc.pool-size:10}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .build());
+        return new R2dbcEntityTemplate(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
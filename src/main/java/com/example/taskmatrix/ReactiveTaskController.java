@@ -0,0 +1,76 @@
+package com.example.taskmatrix;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Reactive, read-only variant of the task API, backed by R2DBC.
+ * Requested as {@code application/x-ndjson}, listings are streamed one task per line as rows arrive,
+ * with the database read paced by how fast the client consumes the response; as {@code application/json}
+ * they are returned as a regular array.
+ */
+@RestController
+@RequestMapping("/api/v2/tasks")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService reactiveTaskService;
+
+    /**
+     * Constructs a ReactiveTaskController.
+     * @param reactiveTaskService The service for reactive task queries.
+     */
+    @Autowired
+    public ReactiveTaskController(ReactiveTaskService reactiveTaskService) {
+        this.reactiveTaskService = reactiveTaskService;
+    }
+
+    /**
+     * Retrieves a task by its ID.
+     * @param id The ID of the task to retrieve.
+     * @return The task if found, or HTTP status 404 (Not Found) if not present.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Task>> getTaskById(@PathVariable Long id) {
+        return reactiveTaskService.getTaskById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Retrieves all tasks, with optional filtering and sorting, with the same parameters as {@code GET /api/tasks}.
+     *
+     * @param label Optional filter by label.
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant.
+     * @param sortBy Field to sort by (e.g., "dueDate", "title"). Defaults to "id".
+     * @param sortDir Sort direction ("asc" or "desc"). Defaults to "asc".
+     * @return The matching tasks, sorted as specified.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Task> getAllTasks(
+            @RequestParam(required = false) String label,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateAfter,
+            @RequestParam(required = false) Importance importance,
+            @RequestParam(required = false) Urgency urgency,
+            @RequestParam(required = false) Quadrant quadrant,
+            @RequestParam(required = false, defaultValue = "id") String sortBy,
+            @RequestParam(required = false, defaultValue = "asc") String sortDir) {
+        return reactiveTaskService.getAllTasks(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant,
+                sortBy, sortDir);
+    }
+}
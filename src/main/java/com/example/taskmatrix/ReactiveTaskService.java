@@ -0,0 +1,97 @@
+package com.example.taskmatrix;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-only, non-blocking access to tasks over R2DBC.
+ * Results are emitted as rows arrive and only as fast as the subscriber requests them, so a slow reader
+ * holds neither a thread nor the whole result in memory. Filters and sorting match {@link TaskService};
+ * writes still go through {@link TaskService}, which keeps the caches and the label index up to date.
+ */
+@Service
+public class ReactiveTaskService {
+
+    private final R2dbcEntityTemplate template;
+    private final LabelTrigramIndex labelIndex;
+
+    /**
+     * Constructs a ReactiveTaskService.
+     * @param template The R2DBC template from {@link ReactiveTaskConfig}.
+     * @param labelIndex The trigram index used to resolve label filters.
+     */
+    @Autowired
+    public ReactiveTaskService(R2dbcEntityTemplate template, LabelTrigramIndex labelIndex) {
+        this.template = template;
+        this.labelIndex = labelIndex;
+    }
+
+    /**
+     * Retrieves a task by its ID.
+     * @param id The ID of the task to retrieve.
+     * @return The task, or an empty Mono if not found.
+     */
+    public Mono<Task> getTaskById(Long id) {
+        return template.select(Task.class)
+                .matching(Query.query(Criteria.where("id").is(id)))
+                .one();
+    }
+
+    /**
+     * Streams all tasks matching the filters, in the requested order.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant.
+     * @param sortBy Field to sort by (e.g., "dueDate", "title"). Defaults to "id".
+     * @param sortDir Sort direction ("asc" or "desc"). Defaults to "asc".
+     * @return The matching tasks.
+     */
+    public Flux<Task> getAllTasks(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            String sortBy,
+            String sortDir) {
+
+        Criteria criteria;
+        Optional<Set<Long>> labelMatches = label == null || label.isEmpty()
+                ? Optional.empty()
+                : labelIndex.findIdsContaining(label);
+        if (labelMatches.isPresent()) {
+            if (labelMatches.get().isEmpty()) {
+                return Flux.empty();
+            }
+            criteria = TaskCriteria.getTasksByCriteria(null, dueDateBefore, dueDateAfter, importance, urgency, quadrant)
+                    .and(TaskCriteria.hasIdIn(labelMatches.get()));
+        } else {
+            criteria = TaskCriteria.getTasksByCriteria(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant);
+        }
+
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return template.select(Task.class)
+                .matching(Query.query(criteria).sort(Sort.by(direction, resolveSortField(sortBy))))
+                .all();
+    }
+
+    private String resolveSortField(String sortBy) {
+        return sortBy != null && List.of("id", "title", "dueDate", "label", "importance", "urgency", "quadrant")
+                .contains(sortBy) ? sortBy : "id";
+    }
+}
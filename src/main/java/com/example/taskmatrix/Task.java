@@ -1,20 +1,30 @@
 package com.example.taskmatrix;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.beans.Transient;
 import java.time.LocalDate;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Second-level cache region, see TaskCacheConfig
 @Data // Includes @Getter, @Setter, @ToString, @EqualsAndHashCode, @RequiredArgsConstructor
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    // Pooled sequence: ids are reserved 50 at a time, so inserts can be JDBC-batched.
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title cannot be blank")
@@ -40,23 +50,33 @@ public class Task {
     @Column(nullable = false)
     private Urgency urgency;
 
+    // Derived from importance and urgency on every insert and update, so SQL can filter, sort and group by it.
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private Quadrant quadrant;
+
+    // Incremented by Hibernate on every update; stale updates fail instead of overwriting newer changes.
+    // Read-only in JSON: clients send it back as an If-Match ETag rather than in the body.
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     /**
      * Calculates and returns the quadrant of the task based on its importance and urgency.
-     * This method is transient and not persisted in the database.
+     * The persisted quadrant column is kept in sync with this value; it is not part of the JSON representation.
      *
      * @return The {@link Quadrant} of the task.
      */
     @Transient
     public Quadrant getQuadrant() {
-        if (importance == Importance.IMPORTANT && urgency == Urgency.URGENT) {
-            return Quadrant.IMPORTANT_URGENT;
-        } else if (importance == Importance.IMPORTANT && urgency == Urgency.NOT_URGENT) {
-            return Quadrant.IMPORTANT_NOT_URGENT;
-        } else if (importance == Importance.NOT_IMPORTANT && urgency == Urgency.URGENT) {
-            return Quadrant.NOT_IMPORTANT_URGENT;
-        } else if (importance == Importance.NOT_IMPORTANT && urgency == Urgency.NOT_URGENT) {
-            return Quadrant.NOT_IMPORTANT_NOT_URGENT;
-        }
-        return null; // Should not happen if importance and urgency are always set
+        return Quadrant.of(importance, urgency); // Null only if importance or urgency is unset
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateQuadrant() {
+        quadrant = Quadrant.of(importance, urgency);
     }
 }
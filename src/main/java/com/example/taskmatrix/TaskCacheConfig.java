@@ -0,0 +1,68 @@
+package com.example.taskmatrix;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configures the Hibernate second-level cache region for {@link Task}.
+ * The region is a bounded, in-process Caffeine cache whose size, time-to-live and expiry policy
+ * come from the {@code taskmatrix.cache.task.*} properties; Hibernate keeps it coherent with writes.
+ */
+@Configuration
+public class TaskCacheConfig {
+
+    /** Hibernate names an entity's cache region after the entity class. */
+    public static final String TASK_REGION = "com.example.taskmatrix.Task";
+
+    /**
+     * Creates a JCache manager holding the Task region.
+     * Each application context gets its own manager, so contexts never share or close each other's caches.
+     * @param maxSize Maximum number of cached tasks; the least valuable entries are evicted beyond it.
+     * @param ttl How long an entry stays cached.
+     * @param expiry "after-write" to expire entries a fixed time after they were loaded or updated,
+     *               or "after-access" to expire entries that have not been read for the TTL.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager taskCacheManager(
+            @Value("${taskmatrix.cache.task.max-size:10000}") long maxSize,
+            @Value("${taskmatrix.cache.task.ttl:10m}") Duration ttl,
+            @Value("${taskmatrix.cache.task.expiry:after-write}") String expiry) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if ("after-access".equalsIgnoreCase(expiry)) {
+            configuration.setExpireAfterAccess(OptionalLong.of(ttl.toNanos()));
+        } else if ("after-write".equalsIgnoreCase(expiry)) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        } else {
+            throw new IllegalArgumentException("Unknown taskmatrix.cache.task.expiry: " + expiry);
+        }
+        configuration.setStatisticsEnabled(true);
+
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("taskmatrix-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(TASK_REGION, configuration);
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate's JCache region factory.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer taskCacheHibernateCustomizer(CacheManager taskCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, taskCacheManager);
+    }
+}
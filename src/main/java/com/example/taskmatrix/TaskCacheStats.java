@@ -0,0 +1,22 @@
+package com.example.taskmatrix;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Hit/miss statistics of the Task second-level cache region since startup.
+ * @param hits Lookups served from the cache.
+ * @param misses Lookups that had to go to the database.
+ * @param puts Entries written to the cache.
+ * @param size Number of entries currently cached, or -1 if the cache does not report it.
+ */
+public record TaskCacheStats(long hits, long misses, long puts, long size) {
+
+    /**
+     * @return The fraction of lookups served from the cache, or 0 if there were none.
+     */
+    @JsonProperty
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.taskmatrix;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes committed task changes to Server-Sent Events subscribers.
+ * <p>
+ * Every change gets a sequence number and is kept in a bounded replay buffer, so a reconnecting client
+ * that sends {@code Last-Event-ID} receives what it missed. Each subscriber has its own bounded buffer of
+ * pending events, keyed by task: a newer change to a task replaces an undelivered older one, and a
+ * subscriber that falls further behind than the buffer allows gets a single {@code reset} event
+ * telling it to reload instead. No thread is tied to a connection; a virtual thread drains a subscriber's
+ * buffer only while it has pending events, so a slow client only ever delays itself.
+ * <p>
+ * Events: {@code created} and {@code updated} carry the task, {@code deleted} carries {@code {"id": ...}}.
+ * A subscriber filtering by quadrant or label only receives creates and updates of matching tasks; an
+ * update that moves a task out of the filter is sent as {@code removed} with just the id, and updates of
+ * tasks that matched neither before nor after are not sent at all.
+ */
+@Component
+public class TaskChangeFeed implements SmartLifecycle, DisposableBean {
+
+    private static final String RESET = "reset";
+
+    private final int bufferSize;
+    private final int replaySize;
+    private final Duration timeout;
+    private final Counter coalesced;
+    private final Counter resets;
+
+    // Sequence numbers restart with the application, so event ids also carry the start time.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-feed-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this, together with subscriber registration, so no subscriber misses or repeats an event.
+    private final ArrayDeque<FeedEvent> replay = new ArrayDeque<>();
+    private long sequence;
+    private volatile boolean running;
+
+    /**
+     * Constructs a TaskChangeFeed.
+     * @param bufferSize Largest number of undelivered events (distinct tasks) per subscriber before it is reset.
+     * @param replaySize Number of recent events kept for clients resuming with {@code Last-Event-ID}.
+     * @param timeout How long a subscription stays open; clients reconnect and resume after it.
+     * @param heartbeat Interval of the keep-alive comments that also detect closed connections.
+     * @param meterRegistry Registry for the subscriber, coalescing and reset metrics.
+     */
+    @Autowired
+    public TaskChangeFeed(@Value("${taskmatrix.stream.buffer-size:256}") int bufferSize,
+                          @Value("${taskmatrix.stream.replay-size:1000}") int replaySize,
+                          @Value("${taskmatrix.stream.timeout:30m}") Duration timeout,
+                          @Value("${taskmatrix.stream.heartbeat:30s}") Duration heartbeat,
+                          MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeout = timeout;
+        this.coalesced = Counter.builder("taskmatrix.stream.coalesced")
+                .description("Undelivered change events replaced by a newer change to the same task")
+                .register(meterRegistry);
+        this.resets = Counter.builder("taskmatrix.stream.resets")
+                .description("Subscribers told to reload because they fell too far behind")
+                .register(meterRegistry);
+        Gauge.builder("taskmatrix.stream.subscribers", subscribers, Set::size)
+                .description("Open task change feed subscriptions")
+                .register(meterRegistry);
+        heartbeats.scheduleAtFixedRate(() -> subscribers.forEach(Subscriber::heartbeat),
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a subscription.
+     * @param quadrant Optional filter by quadrant.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param lastEventId Optional id of the last event the client received; later events are replayed,
+     *                    or a {@code reset} is sent if they are no longer available.
+     * @return The emitter streaming the events.
+     */
+    public SseEmitter subscribe(Quadrant quadrant, String label, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(emitter, quadrant, label, lastEventId);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter, Quadrant quadrant, String label, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, quadrant,
+                label == null || label.isEmpty() ? null : label.toLowerCase());
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        synchronized (this) {
+            if (lastEventId != null) {
+                replayAfter(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+    }
+
+    /**
+     * Publishes a task change to every subscriber once it has committed.
+     * Runs after the query cache has been invalidated, so a client reloading on an event sees the change.
+     * @param change The change published by {@link TaskService}.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent change) {
+        synchronized (this) {
+            FeedEvent event = new FeedEvent(++sequence, change);
+            replay.addLast(event);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    /**
+     * @return The number of open subscriptions.
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Ends every open stream. Runs before the web server's graceful shutdown, which would otherwise
+     * wait for these never-ending requests; clients reconnect and resume with {@code Last-Event-ID}.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void replayAfter(Subscriber subscriber, String lastEventId) {
+        long last = parseSequence(lastEventId);
+        long oldestKept = replay.isEmpty() ? sequence + 1 : replay.peekFirst().sequence();
+        if (last < 0 || last > sequence || last < oldestKept - 1) {
+            subscriber.reset();
+            return;
+        }
+        for (FeedEvent event : replay) {
+            if (event.sequence() > last) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Reads the sequence number from an event id of this application run, or -1 if it is not one.
+     */
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private record FeedEvent(long sequence, TaskChangedEvent change) {
+    }
+
+    /** An event as one subscriber will receive it. */
+    private record Delivery(long sequence, String name, Object data) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Quadrant quadrant;
+        private final String label;
+
+        // Guarded by this. Insertion-ordered, so deliveries keep increasing sequence numbers.
+        private final LinkedHashMap<Long, Delivery> pending = new LinkedHashMap<>();
+        private long resetSequence = -1;
+        private boolean heartbeatDue;
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter, Quadrant quadrant, String label) {
+            this.emitter = emitter;
+            this.quadrant = quadrant;
+            this.label = label;
+        }
+
+        void offer(FeedEvent event) {
+            Delivery delivery = deliveryFor(event);
+            if (delivery == null) {
+                return;
+            }
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                Long taskId = event.change().taskId();
+                if (pending.remove(taskId) != null) {
+                    coalesced.increment();
+                } else if (pending.size() >= bufferSize) {
+                    // Too far behind: drop the backlog and have the client reload.
+                    resetSequence = event.sequence() - 1;
+                    pending.clear();
+                    resets.increment();
+                }
+                pending.put(taskId, delivery);
+                scheduleDrain();
+            }
+        }
+
+        synchronized void reset() {
+            resetSequence = sequence;
+            resets.increment();
+            scheduleDrain();
+        }
+
+        synchronized void heartbeat() {
+            heartbeatDue = true;
+            scheduleDrain();
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+            }
+            subscribers.remove(this);
+        }
+
+        private Delivery deliveryFor(FeedEvent event) {
+            TaskChangedEvent change = event.change();
+            if (change.type() == TaskChangedEvent.Type.DELETED) {
+                return new Delivery(event.sequence(), "deleted", Map.of("id", change.taskId()));
+            }
+            Task task = change.task();
+            if (matches(task.getQuadrant(), task.getLabel())) {
+                return new Delivery(event.sequence(), change.type().name().toLowerCase(), task);
+            }
+            // The task moved out of the filter, so the client is told to drop it.
+            return change.type() == TaskChangedEvent.Type.UPDATED
+                    && matches(change.previousQuadrant(), change.previousLabel())
+                    ? new Delivery(event.sequence(), "removed", Map.of("id", change.taskId()))
+                    : null;
+        }
+
+        private boolean matches(Quadrant taskQuadrant, String taskLabel) {
+            return (quadrant == null || quadrant == taskQuadrant)
+                    && (label == null || (taskLabel != null && taskLabel.toLowerCase().contains(label)));
+        }
+
+        // Caller holds the lock.
+        private void scheduleDrain() {
+            if (!draining && !closed) {
+                draining = true;
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                long reset;
+                boolean heartbeat;
+                List<Delivery> batch;
+                synchronized (this) {
+                    if (closed || (pending.isEmpty() && resetSequence < 0 && !heartbeatDue)) {
+                        draining = false;
+                        return;
+                    }
+                    reset = resetSequence;
+                    heartbeat = heartbeatDue;
+                    batch = new ArrayList<>(pending.values());
+                    resetSequence = -1;
+                    heartbeatDue = false;
+                    pending.clear();
+                }
+                try {
+                    if (reset >= 0) {
+                        emitter.send(SseEmitter.event().id(eventId(reset)).name(RESET)
+                                .data(Map.of(), MediaType.APPLICATION_JSON));
+                    }
+                    for (Delivery delivery : batch) {
+                        emitter.send(SseEmitter.event().id(eventId(delivery.sequence())).name(delivery.name())
+                                .data(delivery.data(), MediaType.APPLICATION_JSON));
+                    }
+                    if (heartbeat && batch.isEmpty() && reset < 0) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away or the emitter already completed.
+                    close();
+                    emitter.completeWithError(e);
+                    synchronized (this) {
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
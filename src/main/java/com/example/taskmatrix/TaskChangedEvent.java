@@ -0,0 +1,31 @@
+package com.example.taskmatrix;
+
+/**
+ * Published by {@link TaskService} whenever a task is created, updated or deleted.
+ * Listeners that keep derived state (indexes, caches) in sync with the task table subscribe to it.
+ * @param type The kind of change.
+ * @param taskId The id of the affected task.
+ * @param task The task's new state, or null for deletions.
+ * @param previousQuadrant For updates, the quadrant the task was in before; otherwise null.
+ * @param previousLabel For updates, the label the task had before; otherwise null.
+ */
+public record TaskChangedEvent(Type type, Long taskId, Task task, Quadrant previousQuadrant, String previousLabel) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task, null, null);
+    }
+
+    public static TaskChangedEvent updated(Task task, Quadrant previousQuadrant, String previousLabel) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task, previousQuadrant, previousLabel);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null, null, null);
+    }
+}
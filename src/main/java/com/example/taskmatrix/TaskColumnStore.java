@@ -0,0 +1,428 @@
+package com.example.taskmatrix;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory, column-oriented copy of the filterable task attributes, used to answer
+ * {@link TaskService#getAllTasks} filters and sorts without a database query.
+ * <p>
+ * Each attribute is a primitive array indexed by row, rows ordered by task id: importance and urgency as
+ * enum ordinals, the due date as an epoch day, and the label as a code into a dictionary of distinct labels.
+ * That is about 18 bytes per task, with no object per task. A query is a single pass over the arrays; only
+ * the ids of the matching rows are returned, for the caller to load. Deleted rows are marked and compacted
+ * away once they make up a quarter of the store.
+ * <p>
+ * Like {@link LabelTrigramIndex}, it is kept current from {@link TaskChangedEvent}s and rebuilt from the
+ * database at startup. It is off unless {@code taskmatrix.columnar.enabled} is set.
+ */
+@Component
+public class TaskColumnStore {
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NO_LABEL = -1;
+    private static final byte DELETED = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Sort ranks of the enum values: the columns are stored as strings, so the database sorts them by name.
+    private static final int[] IMPORTANCE_RANKS = nameRanks(Importance.values());
+    private static final int[] URGENCY_RANKS = nameRanks(Urgency.values());
+    private static final int[] QUADRANT_RANKS = nameRanks(Quadrant.values());
+
+    private final TaskRepository taskRepository;
+    private final boolean enabled;
+
+    // Guarded by lock.
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private byte[] importance = new byte[INITIAL_CAPACITY];
+    private byte[] urgency = new byte[INITIAL_CAPACITY];
+    private int[] dueDays = new int[INITIAL_CAPACITY];
+    private int[] labelCodes = new int[INITIAL_CAPACITY];
+    private int size;
+    private int deleted;
+
+    // Label dictionary; codes are never reused, so the dictionary only grows until the next rebuild.
+    private final List<String> dictionary = new ArrayList<>();
+    private final List<String> lowerDictionary = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+    private volatile int[] labelRanks = new int[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Ids changed by events while a rebuild is running; their event state wins over the rebuild's snapshot.
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * Constructs a TaskColumnStore.
+     * @param taskRepository The repository used to rebuild the store.
+     * @param enabled Whether the store is built and used.
+     */
+    @Autowired
+    public TaskColumnStore(TaskRepository taskRepository,
+                           @Value("${taskmatrix.columnar.enabled:false}") boolean enabled) {
+        this.taskRepository = taskRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Finds the ids of the tasks matching the filters, in the requested order.
+     * Filters mean the same as in {@link TaskSpecification#getTasksByCriteria}; ties in the sort field are
+     * ordered by id in the same direction.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant; overrides importance and urgency.
+     * @param sortField The resolved sort field.
+     * @param direction The sort direction.
+     * @return The matching ids, or empty if the store cannot answer (disabled, not built yet, sorting by title,
+     *         or a label term with SQL wildcard characters), in which case the caller should query the database.
+     */
+    public Optional<List<Long>> findIds(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            String sortField,
+            Sort.Direction direction) {
+
+        boolean labelFilter = label != null && !label.isEmpty();
+        if (!ready || "title".equals(sortField) || (labelFilter && hasLikeWildcards(label))) {
+            return Optional.empty();
+        }
+        int before = dueDateBefore == null ? Integer.MAX_VALUE : (int) dueDateBefore.toEpochDay();
+        int after = dueDateAfter == null ? NO_DATE : (int) dueDateAfter.toEpochDay();
+        boolean dateFilter = dueDateBefore != null || dueDateAfter != null;
+        // Same precedence as TaskSpecification: a quadrant pins down both importance and urgency.
+        int wantedImportance = quadrant != null ? importanceOf(quadrant).ordinal() : importance == null ? -1 : importance.ordinal();
+        int wantedUrgency = quadrant != null ? urgencyOf(quadrant).ordinal() : urgency == null ? -1 : urgency.ordinal();
+
+        lock.readLock().lock();
+        try {
+            boolean[] labelMatches = labelFilter ? matchingLabels(label.toLowerCase()) : null;
+            int[] rows = new int[Math.min(size, 1024)];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                byte rowImportance = this.importance[row];
+                if (rowImportance == DELETED
+                        || (wantedImportance >= 0 && rowImportance != wantedImportance)
+                        || (wantedUrgency >= 0 && this.urgency[row] != wantedUrgency)) {
+                    continue;
+                }
+                if (dateFilter) {
+                    int day = dueDays[row];
+                    if (day == NO_DATE || day > before || day < after) {
+                        continue;
+                    }
+                }
+                if (labelMatches != null) {
+                    int code = labelCodes[row];
+                    if (code == NO_LABEL || !labelMatches[code]) {
+                        continue;
+                    }
+                }
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                }
+                rows[count++] = row;
+            }
+            return Optional.of(sortedIds(rows, count, sortField, direction));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return The number of tasks in the store.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size - deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the store from the task table once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rebuilding = true;
+            touchedDuringRebuild.clear();
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try (Stream<TaskRepository.TaskColumns> rows = taskRepository.streamColumns()) {
+            rows.forEach(row -> {
+                lock.writeLock().lock();
+                try {
+                    if (!touchedDuringRebuild.contains(row.getId())) {
+                        put(row.getId(), row.getImportance(), row.getUrgency(), row.getDueDate(), row.getLabel());
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+        }
+
+        lock.writeLock().lock();
+        try {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed task change to the store.
+     * Runs before {@link TaskQueryCache} invalidates cached results that may have been computed from it.
+     * @param event The change published by {@link TaskService}.
+     */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                touchedDuringRebuild.add(event.taskId());
+            }
+            Task task = event.task();
+            if (task == null) {
+                remove(event.taskId());
+            } else {
+                put(event.taskId(), task.getImportance(), task.getUrgency(), task.getDueDate(), task.getLabel());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(long id, Importance importance, Urgency urgency, LocalDate dueDate, String label) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            row = insertRow(-row - 1, id);
+        } else if (this.importance[row] == DELETED) {
+            deleted--;
+        }
+        this.importance[row] = (byte) importance.ordinal();
+        this.urgency[row] = (byte) urgency.ordinal();
+        dueDays[row] = dueDate == null ? NO_DATE : (int) dueDate.toEpochDay();
+        labelCodes[row] = label == null ? NO_LABEL : code(label);
+    }
+
+    private void remove(long id) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0 || importance[row] == DELETED) {
+            return;
+        }
+        importance[row] = DELETED;
+        deleted++;
+        if (deleted > INITIAL_CAPACITY && deleted > size / 4) {
+            compact();
+        }
+    }
+
+    private int insertRow(int row, long id) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            importance = Arrays.copyOf(importance, capacity);
+            urgency = Arrays.copyOf(urgency, capacity);
+            dueDays = Arrays.copyOf(dueDays, capacity);
+            labelCodes = Arrays.copyOf(labelCodes, capacity);
+        }
+        // Ids come from a sequence, so new rows are almost always appended.
+        if (row < size) {
+            System.arraycopy(ids, row, ids, row + 1, size - row);
+            System.arraycopy(importance, row, importance, row + 1, size - row);
+            System.arraycopy(urgency, row, urgency, row + 1, size - row);
+            System.arraycopy(dueDays, row, dueDays, row + 1, size - row);
+            System.arraycopy(labelCodes, row, labelCodes, row + 1, size - row);
+        }
+        ids[row] = id;
+        size++;
+        return row;
+    }
+
+    private void compact() {
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (importance[row] != DELETED) {
+                ids[kept] = ids[row];
+                importance[kept] = importance[row];
+                urgency[kept] = urgency[row];
+                dueDays[kept] = dueDays[row];
+                labelCodes[kept] = labelCodes[row];
+                kept++;
+            }
+        }
+        size = kept;
+        deleted = 0;
+    }
+
+    private void clear() {
+        ids = new long[INITIAL_CAPACITY];
+        importance = new byte[INITIAL_CAPACITY];
+        urgency = new byte[INITIAL_CAPACITY];
+        dueDays = new int[INITIAL_CAPACITY];
+        labelCodes = new int[INITIAL_CAPACITY];
+        size = 0;
+        deleted = 0;
+        dictionary.clear();
+        lowerDictionary.clear();
+        codes.clear();
+        labelRanks = new int[0];
+    }
+
+    private int code(String label) {
+        Integer code = codes.get(label);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(label);
+            lowerDictionary.add(label.toLowerCase());
+            codes.put(label, code);
+        }
+        return code;
+    }
+
+    /**
+     * Marks the dictionary entries containing the (lower-cased) term, so each row needs only an array lookup.
+     */
+    private boolean[] matchingLabels(String needle) {
+        boolean[] matches = new boolean[lowerDictionary.size()];
+        for (int code = 0; code < matches.length; code++) {
+            matches[code] = lowerDictionary.get(code).contains(needle);
+        }
+        return matches;
+    }
+
+    /**
+     * Orders the matching rows by packing (sort key, row) into longs and sorting those. Rows are in id order,
+     * so equal keys stay in id order, and reading the result backwards gives the descending order.
+     */
+    private List<Long> sortedIds(int[] rows, int count, String sortField, Sort.Direction direction) {
+        List<Long> result = new ArrayList<>(count);
+        if ("id".equals(sortField)) {
+            for (int i = 0; i < count; i++) {
+                result.add(ids[rows[direction.isAscending() ? i : count - 1 - i]]);
+            }
+            return result;
+        }
+        int[] ranks = "label".equals(sortField) ? currentLabelRanks() : null;
+        long[] keyed = new long[count];
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            keyed[i] = ((long) sortKey(row, sortField, ranks) << 32) | row;
+        }
+        Arrays.sort(keyed);
+        for (int i = 0; i < count; i++) {
+            result.add(ids[(int) keyed[direction.isAscending() ? i : count - 1 - i]]);
+        }
+        return result;
+    }
+
+    // Missing values get the lowest key, as the database sorts NULL lowest.
+    private int sortKey(int row, String sortField, int[] ranks) {
+        return switch (sortField) {
+            case "dueDate" -> dueDays[row];
+            case "label" -> labelCodes[row] == NO_LABEL ? Integer.MIN_VALUE : ranks[labelCodes[row]];
+            case "importance" -> IMPORTANCE_RANKS[importance[row]];
+            case "urgency" -> URGENCY_RANKS[urgency[row]];
+            case "quadrant" -> QUADRANT_RANKS[Quadrant.of(Importance.values()[importance[row]], Urgency.values()[urgency[row]]).ordinal()];
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        };
+    }
+
+    /**
+     * The sort rank of every dictionary entry; recomputed (under the read lock, by whichever query needs it
+     * first) only after new labels were added.
+     */
+    private int[] currentLabelRanks() {
+        int[] ranks = labelRanks;
+        if (ranks.length == dictionary.size()) {
+            return ranks;
+        }
+        Integer[] order = new Integer[dictionary.size()];
+        for (int code = 0; code < order.length; code++) {
+            order[code] = code;
+        }
+        Arrays.sort(order, Comparator.comparing(dictionary::get));
+        ranks = new int[order.length];
+        for (int rank = 0; rank < order.length; rank++) {
+            ranks[order[rank]] = rank;
+        }
+        labelRanks = ranks;
+        return ranks;
+    }
+
+    private static Importance importanceOf(Quadrant quadrant) {
+        return quadrant == Quadrant.IMPORTANT_URGENT || quadrant == Quadrant.IMPORTANT_NOT_URGENT
+                ? Importance.IMPORTANT : Importance.NOT_IMPORTANT;
+    }
+
+    private static Urgency urgencyOf(Quadrant quadrant) {
+        return quadrant == Quadrant.IMPORTANT_URGENT || quadrant == Quadrant.NOT_IMPORTANT_URGENT
+                ? Urgency.URGENT : Urgency.NOT_URGENT;
+    }
+
+    private static int[] nameRanks(Enum<?>[] values) {
+        Enum<?>[] byName = values.clone();
+        Arrays.sort(byName, Comparator.comparing(Enum::name));
+        int[] ranks = new int[values.length];
+        for (int rank = 0; rank < byName.length; rank++) {
+            ranks[byName[rank].ordinal()] = rank;
+        }
+        return ranks;
+    }
+
+    private static boolean hasLikeWildcards(String term) {
+        // The SQL filter passes the term to LIKE unescaped, so '%', '_' and H2's default escape character (backslash) are special there.
+        return term.indexOf('%') >= 0 || term.indexOf('_') >= 0 || term.indexOf('\\') >= 0;
+    }
+}
@@ -5,16 +5,31 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import com.example.taskmatrix.exception.PreconditionFailedException;
 import com.example.taskmatrix.exception.ResourceNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Controller for managing tasks.
@@ -24,15 +39,34 @@ import java.util.List;
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    /** Media type of JSON Merge Patch (RFC 7396) request bodies. */
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    /** Response header carrying the cursor for the next page of a paginated listing. */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final TaskQueryCache queryCache;
+    private final TaskChangeFeed changeFeed;
+
+    // The write counter restarts with the application, so list ETags also carry the start time.
+    private final String listETagPrefix = "tasks-" + Long.toString(System.currentTimeMillis(), 36) + "-";
 
     /**
      * Constructs a TaskController with the given TaskService.
      * @param taskService The service for task management.
+     * @param objectMapper The mapper used to write streamed exports.
+     * @param queryCache Provides the committed-write counter that list ETags are derived from.
+     * @param changeFeed The feed behind the change stream.
      */
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ObjectMapper objectMapper, TaskQueryCache queryCache,
+                          TaskChangeFeed changeFeed) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.queryCache = queryCache;
+        this.changeFeed = changeFeed;
     }
 
     /**
@@ -52,18 +86,32 @@ public class TaskController {
 
     /**
      * Retrieves a task by its ID.
+     * The response carries the task's version as a strong ETag; a request whose {@code If-None-Match}
+     * names the current version gets HTTP status 304 (Not Modified) without a body.
      * @param id The ID of the task to retrieve.
+     * @param request The current request, used to evaluate {@code If-None-Match}.
      * @return The task if found, or HTTP status 404 (Not Found) if not present.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
-        return taskService.getTaskById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Task> getTaskById(@PathVariable Long id, WebRequest request) {
+        Optional<Task> task = taskService.getTaskById(id);
+        if (task.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(eTag(task.get()))) {
+            return null; // 304, the ETag header is already set
+        }
+        return ResponseEntity.ok(task.get());
     }
 
     /**
      * Retrieves all tasks, with optional filtering and sorting.
+     * When {@code limit} or {@code cursor} is given, a single keyset-paginated page is returned instead
+     * and the cursor for the following page, if any, is sent in the {@value #NEXT_CURSOR_HEADER} header.
+     * When {@code fields} is given, each task only carries the listed fields (plus its id), and only
+     * those columns are read from the database.
+     * Every response carries an ETag that changes with each committed write to any task; a request whose
+     * {@code If-None-Match} still names it gets HTTP status 304 (Not Modified) without running the query.
      *
      * @param label Optional filter by label.
      * @param dueDateBefore Optional filter for due date before or on this date.
@@ -73,10 +121,144 @@ public class TaskController {
      * @param quadrant Optional filter by quadrant.
      * @param sortBy Field to sort by (e.g., "dueDate", "title"). Defaults to "id".
      * @param sortDir Sort direction ("asc" or "desc"). Defaults to "asc".
-     * @return A list of tasks matching the criteria, sorted as specified.
+     * @param limit Optional page size (1 to {@link TaskService#MAX_PAGE_SIZE}).
+     * @param cursor Optional opaque cursor taken from the previous page's {@value #NEXT_CURSOR_HEADER} header.
+     * @param fields Optional comma-separated fields to return (see {@link TaskService#FIELDS}), e.g. "title,dueDate".
+     * @param request The current request, used to evaluate {@code If-None-Match}.
+     * @return A list of tasks matching the criteria, sorted as specified,
+     *         or HTTP status 400 (Bad Request) if the limit, cursor or fields are invalid.
      */
     @GetMapping
-    public List<Task> getAllTasks(
+    public ResponseEntity<List<?>> getAllTasks(
+            @RequestParam(required = false) String label,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateAfter,
+            @RequestParam(required = false) Importance importance,
+            @RequestParam(required = false) Urgency urgency,
+            @RequestParam(required = false) Quadrant quadrant,
+            @RequestParam(required = false, defaultValue = "id") String sortBy,
+            @RequestParam(required = false, defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        // Taken before querying: a write committing meanwhile can only make this ETag older than the body.
+        if (request.checkNotModified(listETagPrefix + queryCache.getVersion())) {
+            return null; // 304, the ETag header is already set
+        }
+        try {
+            boolean paged = limit != null || cursor != null;
+            int pageSize = limit != null ? limit : TaskService.DEFAULT_PAGE_SIZE;
+            if (fields != null) {
+                if (!paged) {
+                    return ResponseEntity.ok(taskService.getTaskFields(label, dueDateBefore, dueDateAfter,
+                            importance, urgency, quadrant, sortBy, sortDir, fields));
+                }
+                TaskFieldsPage page = taskService.getTaskFieldsPage(label, dueDateBefore, dueDateAfter,
+                        importance, urgency, quadrant, sortBy, sortDir, cursor, pageSize, fields);
+                return withNextCursor(page.nextCursor()).body(page.tasks());
+            }
+            if (!paged) {
+                return ResponseEntity.ok(taskService.getAllTasks(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant, sortBy, sortDir));
+            }
+            TaskPage page = taskService.getTasksPage(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant,
+                    sortBy, sortDir, cursor, pageSize);
+            return withNextCursor(page.nextCursor()).body(page.tasks());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static ResponseEntity.BodyBuilder withNextCursor(String nextCursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response;
+    }
+
+    /**
+     * Returns task counts per quadrant, per label and per due-date bucket for the given filters.
+     *
+     * @param label Optional filter by label.
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant.
+     * @return The facet counts.
+     */
+    @GetMapping("/facets")
+    public TaskFacets getFacets(
+            @RequestParam(required = false) String label,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateAfter,
+            @RequestParam(required = false) Importance importance,
+            @RequestParam(required = false) Urgency urgency,
+            @RequestParam(required = false) Quadrant quadrant) {
+        return taskService.getFacets(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant);
+    }
+
+    /**
+     * Searches task titles and details for all words of the query, best match first.
+     * The same filters as the task listing narrow the results down.
+     *
+     * @param q The words to search for.
+     * @param label Optional filter by label.
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant.
+     * @param limit Maximum number of results (1 to {@link TaskService#MAX_PAGE_SIZE}), defaults to
+     *              {@link TaskService#DEFAULT_SEARCH_LIMIT}.
+     * @return The matching tasks in order of relevance, HTTP status 400 (Bad Request) if the query has no words
+     *         or the limit is invalid, or 503 (Service Unavailable) while the search index is built after startup.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Task>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) String label,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateAfter,
+            @RequestParam(required = false) Importance importance,
+            @RequestParam(required = false) Urgency urgency,
+            @RequestParam(required = false) Quadrant quadrant,
+            @RequestParam(required = false, defaultValue = "" + TaskService.DEFAULT_SEARCH_LIMIT) int limit) {
+        try {
+            return ResponseEntity.ok(taskService.searchTasks(q, label, dueDateBefore, dueDateAfter,
+                    importance, urgency, quadrant, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Returns hit/miss statistics of the Task second-level cache.
+     * @return The cache statistics.
+     */
+    @GetMapping("/cache/stats")
+    public TaskCacheStats getCacheStats() {
+        return taskService.getCacheStats();
+    }
+
+    /**
+     * Exports all tasks matching the filters as newline-delimited JSON (one task per line).
+     * The response is streamed while rows are read from the database, so the export never
+     * holds the full result set in memory.
+     *
+     * @param label Optional filter by label.
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant.
+     * @param sortBy Field to sort by (e.g., "dueDate", "title"). Defaults to "id".
+     * @param sortDir Sort direction ("asc" or "desc"). Defaults to "asc".
+     * @return A streaming NDJSON response body.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(
             @RequestParam(required = false) String label,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateBefore,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateAfter,
@@ -85,21 +267,77 @@ public class TaskController {
             @RequestParam(required = false) Quadrant quadrant,
             @RequestParam(required = false, defaultValue = "id") String sortBy,
             @RequestParam(required = false, defaultValue = "asc") String sortDir) {
-        return taskService.getAllTasks(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant, sortBy, sortDir);
+        StreamingResponseBody body = outputStream -> taskService.streamTasks(
+                label, dueDateBefore, dueDateAfter, importance, urgency, quadrant, sortBy, sortDir,
+                task -> writeLine(outputStream, task));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Streams task changes as Server-Sent Events, see {@link TaskChangeFeed} for the event types.
+     * A client reconnecting with {@code Last-Event-ID} first receives the changes it missed.
+     *
+     * @param quadrant Optional filter by quadrant.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param lastEventId Optional id of the last event received before reconnecting.
+     * @return The open event stream.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) Quadrant quadrant,
+            @RequestParam(required = false) String label,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(quadrant, label, lastEventId);
+    }
+
+    private static String eTag(Task task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+
+    /**
+     * Reads the task version from an If-Match ETag, as produced by {@link #eTag(Task)}.
+     */
+    private static Long parseVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            // Weak tags never match under If-Match.
+            throw new PreconditionFailedException("If-Match requires a strong ETag.");
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not name a version of this task: " + ifMatch);
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, Task task) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(task));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
      * Updates an existing task.
+     * With an {@code If-Match} header, the update only applies if the task is still at the version
+     * named by that ETag; otherwise it fails with HTTP status 412 (Precondition Failed), as does an update
+     * that loses a race with a concurrent one.
      * @param id The ID of the task to update.
      * @param taskDetails The task details to update, validated from the request body.
-     * @return The updated task, or HTTP status 404 (Not Found) if the task doesn't exist,
+     * @param ifMatch Optional ETag of the version the client last read.
+     * @return The updated task with its new ETag, or HTTP status 404 (Not Found) if the task doesn't exist,
      *         or HTTP status 400 (Bad Request) if validation fails (e.g. title is empty).
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @Valid @RequestBody Task taskDetails) {
+    public ResponseEntity<Task> updateTask(@PathVariable Long id, @Valid @RequestBody Task taskDetails,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Task updatedTask = taskService.updateTask(id, taskDetails);
-            return ResponseEntity.ok(updatedTask);
+            Task updatedTask = ifMatch == null || ifMatch.trim().equals("*")
+                    ? taskService.updateTask(id, taskDetails)
+                    : taskService.updateTask(id, taskDetails, parseVersion(ifMatch));
+            return ResponseEntity.ok().eTag(eTag(updatedTask)).body(updatedTask);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         } catch (IllegalArgumentException e) {
@@ -107,6 +345,92 @@ public class TaskController {
         }
     }
 
+    /**
+     * Partially updates a task with a JSON Merge Patch: only the fields present in the body change,
+     * and a null value clears details, label or dueDate. The patch is applied with a single UPDATE.
+     * With an {@code If-Match} header, it only applies if the task is still at that version.
+     * @param id The ID of the task to patch.
+     * @param patch The merge patch.
+     * @param ifMatch Optional ETag of the version the client last read.
+     * @return The patched task with its new ETag, or HTTP status 404 (Not Found) if the task doesn't exist,
+     *         or HTTP status 400 (Bad Request) if the patch is invalid.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Task> patchTask(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long expectedVersion = ifMatch == null || ifMatch.trim().equals("*") ? null : parseVersion(ifMatch);
+            Task patchedTask = taskService.patchTask(id, patch, expectedVersion);
+            return ResponseEntity.ok().eTag(eTag(patchedTask)).body(patchedTask);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Creates many tasks in one transaction.
+     * Invalid items are reported individually and do not prevent the valid ones from being created.
+     * @param tasks The tasks to create.
+     * @return The per-item outcome, or HTTP status 400 (Bad Request) if the batch is empty or too large.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> createTasks(@RequestBody List<Task> tasks) {
+        try {
+            return ResponseEntity.ok(taskService.createTasks(tasks));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Updates many tasks in one transaction. Each task in the body must carry its id.
+     * Unknown or invalid items are reported individually and do not prevent the others from being updated.
+     * @param tasks The new task states.
+     * @return The per-item outcome, or HTTP status 400 (Bad Request) if the batch is empty or too large.
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResult> updateTasks(@RequestBody List<Task> tasks) {
+        try {
+            return ResponseEntity.ok(taskService.updateTasks(tasks));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Deletes many tasks in one transaction. Unknown ids are reported individually.
+     * @param ids The ids of the tasks to delete.
+     * @return The per-item outcome, or HTTP status 400 (Bad Request) if the batch is empty or too large.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResult> deleteTasks(@RequestBody List<Long> ids) {
+        try {
+            return ResponseEntity.ok(taskService.deleteTasks(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Imports tasks from a CSV upload, which is read, validated and inserted as it arrives rather than buffered.
+     * The first line names the columns: title, importance and urgency are required; details, label and dueDate
+     * (yyyy-MM-dd) are optional. Invalid rows are reported by line number and do not prevent the others from
+     * being imported.
+     * @param body The CSV text, encoded as UTF-8.
+     * @return The number of imported and rejected rows with the first errors, or HTTP status 400 (Bad Request) if
+     *         the input is empty or its header is invalid.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ImportResult> importTasks(InputStream body) {
+        try {
+            return ResponseEntity.ok(taskService.importTasks(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Deletes a task by its ID.
      * @param id The ID of the task to delete.
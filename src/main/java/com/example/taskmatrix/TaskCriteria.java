@@ -0,0 +1,61 @@
+package com.example.taskmatrix;
+
+import org.springframework.data.relational.core.query.Criteria;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * R2DBC counterpart of {@link TaskSpecification}: the same filters with the same semantics,
+ * expressed as Spring Data Relational criteria for {@link ReactiveTaskService}.
+ */
+public class TaskCriteria {
+
+    public static Criteria getTasksByCriteria(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant) {
+
+        Criteria criteria = Criteria.empty();
+
+        if (label != null && !label.isEmpty()) {
+            criteria = criteria.and(Criteria.where("label").like("%" + label + "%").ignoreCase(true));
+        }
+
+        if (dueDateBefore != null) {
+            criteria = criteria.and(Criteria.where("dueDate").lessThanOrEquals(dueDateBefore));
+        }
+
+        if (dueDateAfter != null) {
+            criteria = criteria.and(Criteria.where("dueDate").greaterThanOrEquals(dueDateAfter));
+        }
+
+        if (quadrant != null) {
+            // If quadrant is specified, it overrides importance and urgency
+            criteria = criteria.and(Criteria.where("quadrant").is(quadrant.name()));
+        } else if (importance != null && urgency != null) {
+            criteria = criteria.and(Criteria.where("quadrant").is(Quadrant.of(importance, urgency).name()));
+        } else {
+            if (importance != null) {
+                criteria = criteria.and(Criteria.where("importance").is(importance.name()));
+            }
+            if (urgency != null) {
+                criteria = criteria.and(Criteria.where("urgency").is(urgency.name()));
+            }
+        }
+
+        return criteria;
+    }
+
+    /**
+     * Restricts results to the given task ids.
+     * @param ids The ids to match; must not be empty, since SQL has no empty {@code IN} list.
+     * @return Criteria matching only tasks whose id is in the collection.
+     */
+    public static Criteria hasIdIn(Collection<Long> ids) {
+        return Criteria.where("id").in(ids);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.taskmatrix;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor used to page through task listings.
+ * A cursor remembers the sort field, the sort direction and the (sort value, id) pair of the
+ * last task returned, so the next page can be fetched with a range predicate instead of an offset.
+ * Clients only ever see the URL-safe Base64 form produced by {@link #encode()}.
+ */
+public final class TaskCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final String sortField;
+    private final Sort.Direction direction;
+    private final Object value;
+    private final Long id;
+
+    public TaskCursor(String sortField, Sort.Direction direction, Object value, Long id) {
+        this.sortField = sortField;
+        this.direction = direction;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Creates a cursor pointing just after the given task for the given sort order.
+     * @param task The last task of the current page.
+     * @param sortField The field the listing is sorted by.
+     * @param direction The sort direction.
+     * @return A cursor for the next page.
+     */
+    public static TaskCursor after(Task task, String sortField, Sort.Direction direction) {
+        return new TaskCursor(sortField, direction, sortValue(task, sortField), task.getId());
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     * @param token The opaque cursor token.
+     * @return The decoded cursor.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            int third = raw.indexOf(SEPARATOR, second + 1);
+            if (first < 0 || second < 0 || third < 0) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            String sortField = raw.substring(0, first);
+            Sort.Direction direction = Sort.Direction.fromString(raw.substring(first + 1, second));
+            Long id = Long.valueOf(raw.substring(second + 1, third));
+            String encodedValue = raw.substring(third + 1);
+            // An empty value means the sort value was null; anything else carries a 'v' prefix.
+            Object value = encodedValue.isEmpty() ? null : parseValue(sortField, encodedValue.substring(1));
+            return new TaskCursor(sortField, direction, value, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+    /**
+     * Encodes this cursor as an opaque, URL-safe token.
+     * @return The encoded cursor.
+     */
+    public String encode() {
+        String raw = sortField + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR
+                + (value == null ? "" : "v" + formatValue(value));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSortField() {
+        return sortField;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    private static Object sortValue(Task task, String sortField) {
+        switch (sortField) {
+            case "id":
+                return task.getId();
+            case "title":
+                return task.getTitle();
+            case "dueDate":
+                return task.getDueDate();
+            case "label":
+                return task.getLabel();
+            case "importance":
+                return task.getImportance();
+            case "urgency":
+                return task.getUrgency();
+            case "quadrant":
+                return task.getQuadrant();
+            default:
+                throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        }
+    }
+
+    private static String formatValue(Object value) {
+        return value instanceof Enum<?> e ? e.name() : value.toString();
+    }
+
+    private static Object parseValue(String sortField, String value) {
+        switch (sortField) {
+            case "id":
+                return Long.valueOf(value);
+            case "title":
+            case "label":
+                return value;
+            case "dueDate":
+                return LocalDate.parse(value);
+            case "importance":
+                return Importance.valueOf(value);
+            case "urgency":
+                return Urgency.valueOf(value);
+            case "quadrant":
+                return Quadrant.valueOf(value);
+            default:
+                throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmatrix;
+
+import java.util.Map;
+
+/**
+ * Task counts for a set of filters, broken down several ways.
+ * @param total Number of tasks matching the filters.
+ * @param quadrants Count per quadrant; every quadrant is present.
+ * @param labels Count per label, largest first; unlabelled tasks are counted under the empty string.
+ * @param dueDates Count per due-date bucket; every bucket is present.
+ */
+public record TaskFacets(
+        long total,
+        Map<Quadrant, Long> quadrants,
+        Map<String, Long> labels,
+        Map<DueDateBucket, Long> dueDates) {
+}
@@ -0,0 +1,16 @@
+package com.example.taskmatrix;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single page of a keyset-paginated listing of selected task fields.
+ * @param tasks One map per task from field name to value, in sort order.
+ * @param nextCursor The cursor for the following page, or null if this is the last page.
+ */
+public record TaskFieldsPage(List<Map<String, Object>> tasks, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
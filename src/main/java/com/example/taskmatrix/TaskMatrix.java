@@ -0,0 +1,21 @@
+package com.example.taskmatrix;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The data behind the matrix page: the head of each quadrant plus the quadrant counts.
+ * @param quadrants The first page of tasks for each quadrant; quadrants excluded by the filters have empty pages.
+ * @param counts The number of tasks per quadrant for the same filters.
+ * @param limit The number of tasks fetched per quadrant.
+ */
+public record TaskMatrix(Map<Quadrant, TaskPage> quadrants, Map<Quadrant, Long> counts, int limit) {
+
+    public List<Task> tasks(Quadrant quadrant) {
+        return quadrants.get(quadrant).tasks();
+    }
+
+    public boolean hasMore(Quadrant quadrant) {
+        return quadrants.get(quadrant).hasNext();
+    }
+}
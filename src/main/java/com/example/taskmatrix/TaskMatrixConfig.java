@@ -0,0 +1,34 @@
+package com.example.taskmatrix;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Infrastructure for {@link TaskMatrixService}.
+ */
+@Configuration
+public class TaskMatrixConfig {
+
+    public static final String MATRIX_QUERY_EXECUTOR = "matrixQueryExecutor";
+
+    /**
+     * Bounded pool for the per-quadrant queries. The pool size caps how many database connections
+     * matrix page renders can hold at once; when the queue is full the request thread runs the query itself.
+     */
+    @Bean(name = MATRIX_QUERY_EXECUTOR)
+    public ThreadPoolTaskExecutor matrixQueryExecutor(
+            @Value("${taskmatrix.matrix.query-threads:4}") int threads,
+            @Value("${taskmatrix.matrix.query-queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("matrix-query-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.taskmatrix;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads the matrix page: one bounded, sorted query per quadrant, run concurrently,
+ * so page cost depends on the per-quadrant limit rather than on the total number of tasks.
+ */
+@Service
+public class TaskMatrixService {
+
+    private final TaskService taskService;
+    private final Executor executor;
+    private final int defaultLimit;
+
+    /**
+     * Constructs a TaskMatrixService.
+     * @param taskService The service used to query each quadrant.
+     * @param executor The bounded executor the quadrant queries run on.
+     * @param defaultLimit Number of tasks shown per quadrant when no limit is requested.
+     */
+    @Autowired
+    public TaskMatrixService(TaskService taskService,
+                             @Qualifier(TaskMatrixConfig.MATRIX_QUERY_EXECUTOR) Executor executor,
+                             @Value("${taskmatrix.matrix.quadrant-limit:25}") int defaultLimit) {
+        this.taskService = taskService;
+        this.executor = executor;
+        this.defaultLimit = defaultLimit;
+    }
+
+    /**
+     * Loads the head of every quadrant matching the filters, plus the quadrant counts.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant; when set only that quadrant is queried.
+     * @param sortBy Field to sort by (e.g., "dueDate", "title"). Defaults to "id".
+     * @param sortDir Sort direction ("asc" or "desc"). Defaults to "asc".
+     * @param limit Optional number of tasks per quadrant; clamped to 1..{@link TaskService#MAX_PAGE_SIZE}.
+     * @return The matrix data.
+     */
+    public TaskMatrix getMatrix(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            String sortBy,
+            String sortDir,
+            Integer limit) {
+        return getQuadrants(EnumSet.allOf(Quadrant.class),
+                label, dueDateBefore, dueDateAfter, importance, urgency, quadrant, sortBy, sortDir, limit);
+    }
+
+    /**
+     * Loads the head of only the given quadrants, plus the quadrant counts, e.g. to re-render the quadrants
+     * a write touched. The other quadrants have empty pages.
+     * @param quadrants The quadrants to load.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant.
+     * @param sortBy Field to sort by (e.g., "dueDate", "title"). Defaults to "id".
+     * @param sortDir Sort direction ("asc" or "desc"). Defaults to "asc".
+     * @param limit Optional number of tasks per quadrant; clamped to 1..{@link TaskService#MAX_PAGE_SIZE}.
+     * @return The matrix data.
+     */
+    public TaskMatrix getQuadrants(
+            Set<Quadrant> quadrants,
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            String sortBy,
+            String sortDir,
+            Integer limit) {
+
+        int effectiveLimit = limit == null ? defaultLimit : Math.max(1, Math.min(limit, TaskService.MAX_PAGE_SIZE));
+
+        Map<Quadrant, CompletableFuture<TaskPage>> pending = new EnumMap<>(Quadrant.class);
+        for (Quadrant q : Quadrant.values()) {
+            if (quadrants.contains(q) && matches(q, importance, urgency, quadrant)) {
+                pending.put(q, CompletableFuture.supplyAsync(() -> taskService.getTasksPage(
+                        label, dueDateBefore, dueDateAfter, null, null, q, sortBy, sortDir, null, effectiveLimit), executor));
+            }
+        }
+
+        // The quadrant counts run on the calling thread while the quadrant queries are in flight.
+        Map<Quadrant, Long> counts = taskService.getQuadrantCounts(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant);
+
+        Map<Quadrant, TaskPage> pages = new EnumMap<>(Quadrant.class);
+        for (Quadrant q : Quadrant.values()) {
+            CompletableFuture<TaskPage> page = pending.get(q);
+            pages.put(q, page == null ? new TaskPage(List.of(), null) : await(page));
+        }
+        return new TaskMatrix(pages, counts, effectiveLimit);
+    }
+
+    /**
+     * Waits for a quadrant query, rethrowing its own exception (e.g. a busy database) instead of a wrapper.
+     */
+    private static TaskPage await(CompletableFuture<TaskPage> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A quadrant filter overrides importance and urgency in {@link TaskSpecification}, so quadrants that
+     * contradict the importance or urgency filter are skipped instead of queried.
+     */
+    private static boolean matches(Quadrant q, Importance importance, Urgency urgency, Quadrant quadrant) {
+        if (quadrant != null) {
+            return q == quadrant;
+        }
+        boolean important = q == Quadrant.IMPORTANT_URGENT || q == Quadrant.IMPORTANT_NOT_URGENT;
+        boolean urgent = q == Quadrant.IMPORTANT_URGENT || q == Quadrant.NOT_IMPORTANT_URGENT;
+        return (importance == null || (importance == Importance.IMPORTANT) == important)
+                && (urgency == null || (urgency == Urgency.URGENT) == urgent);
+    }
+}
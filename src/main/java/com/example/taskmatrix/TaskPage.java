@@ -0,0 +1,15 @@
+package com.example.taskmatrix;
+
+import java.util.List;
+
+/**
+ * A single page of a keyset-paginated task listing.
+ * @param tasks The tasks on this page, in sort order.
+ * @param nextCursor The cursor for the following page, or null if this is the last page.
+ */
+public record TaskPage(List<Task> tasks, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.taskmatrix;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache for the results of task queries, keyed by the normalized query.
+ * Every entry remembers the global write version it was loaded under. Any committed task change
+ * bumps that version, so entries loaded before the change are never served again; they are
+ * simply reloaded on their next use or evicted as least recently used.
+ * <p>
+ * The cache is bounded both in entries and in the total number of rows the cached results hold, so its
+ * memory use does not grow with the size of the task table. A result with more rows than the whole
+ * budget is not cached at all.
+ */
+@Component
+public class TaskQueryCache {
+
+    private final int maxEntries;
+    private final long maxRows;
+    private final AtomicLong version = new AtomicLong();
+
+    // Access-ordered, so the first entry is the least recently used one. Guarded by itself, as is rows.
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long rows;
+
+    /**
+     * Constructs a TaskQueryCache.
+     * @param maxEntries Largest number of query results kept; 0 disables the cache.
+     * @param maxRows Largest total number of rows, summed over all cached results.
+     */
+    public TaskQueryCache(@Value("${taskmatrix.query-cache.max-entries:256}") int maxEntries,
+                          @Value("${taskmatrix.query-cache.max-rows:50000}") long maxRows) {
+        this.maxEntries = maxEntries;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Returns the cached result for the key, loading and caching it if it is missing or stale.
+     * The version is read before loading, so a result that raced with a write is cached under
+     * the old version and discarded on its next lookup.
+     * @param key The normalized query; must implement equals and hashCode.
+     * @param loader Runs the query on a miss.
+     * @return The query result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Supplier<T> loader) {
+        if (maxEntries <= 0) {
+            return loader.get();
+        }
+        long current = version.get();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == current) {
+                return (T) entry.value();
+            }
+        }
+        T value = loader.get();
+        int weight = weigh(value);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            // Never replace a result loaded under a newer version with an older one.
+            if (entry == null || entry.version() <= current) {
+                if (entry != null) {
+                    entries.remove(key);
+                    rows -= entry.rows();
+                }
+                if (weight <= maxRows) {
+                    entries.put(key, new Entry(current, value, weight));
+                    rows += weight;
+                    evict();
+                }
+            }
+        }
+        return value;
+    }
+
+    // Drops least recently used entries until both bounds hold; the entry just added is the most recent one.
+    private void evict() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || rows > maxRows) {
+            rows -= eldest.next().rows();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * @return The number of rows a query result holds; results that are not lists of rows count as one.
+     */
+    static int weigh(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (value instanceof TaskPage page) {
+            return page.tasks().size();
+        } else if (value instanceof TaskFieldsPage page) {
+            return page.tasks().size();
+        }
+        return 1;
+    }
+
+    /**
+     * @return The current write version.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return The number of cached results, including stale ones not yet evicted.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return The total number of rows held by cached results, including stale ones not yet evicted.
+     */
+    public long rows() {
+        synchronized (entries) {
+            return rows;
+        }
+    }
+
+    /**
+     * Invalidates every cached result once a task change has committed.
+     * Runs after the other listeners (notably {@link LabelTrigramIndex}), so a query reloaded under
+     * the new version already sees the change everywhere, but before {@link TaskChangeFeed} tells clients about it.
+     * @param event The change published by {@link TaskService}.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    private record Entry(long version, Object value, int rows) {
+    }
+}
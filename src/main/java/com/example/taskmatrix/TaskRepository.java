@@ -2,8 +2,77 @@ package com.example.taskmatrix;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
+
+    /**
+     * Returns which of the given ids belong to existing tasks, without loading the tasks.
+     */
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams the id and label of every labelled task. Must be consumed inside a transaction.
+     */
+    @Query("select t.id as id, t.label as label from Task t where t.label is not null")
+    Stream<TaskLabel> streamLabels();
+
+    /**
+     * Streams the attributes kept by {@link TaskColumnStore} for every task, in id order.
+     * Must be consumed inside a transaction.
+     */
+    @Query("select t.id as id, t.label as label, t.dueDate as dueDate, t.importance as importance, t.urgency as urgency"
+            + " from Task t order by t.id")
+    Stream<TaskColumns> streamColumns();
+
+    /**
+     * Streams the id, title and details of every task, for {@link TaskSearchIndex}.
+     * Must be consumed inside a transaction.
+     */
+    @Query("select t.id as id, t.title as title, t.details as details from Task t")
+    Stream<TaskText> streamText();
+
+    /**
+     * Projection of a task's id and label.
+     */
+    interface TaskLabel {
+        Long getId();
+
+        String getLabel();
+    }
+
+    /**
+     * Projection of the task attributes held by {@link TaskColumnStore}.
+     */
+    interface TaskColumns {
+        Long getId();
+
+        String getLabel();
+
+        LocalDate getDueDate();
+
+        Importance getImportance();
+
+        Urgency getUrgency();
+    }
+
+    /**
+     * Projection of a task's id and searchable text.
+     */
+    interface TaskText {
+        Long getId();
+
+        String getTitle();
+
+        String getDetails();
+    }
 }
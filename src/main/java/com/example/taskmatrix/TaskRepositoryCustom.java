@@ -0,0 +1,94 @@
+package com.example.taskmatrix;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Aggregate, projection and single-statement write queries over tasks that Spring Data cannot derive,
+ * implemented in {@link TaskRepositoryImpl}.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Counts matching tasks per quadrant with a single GROUP BY query.
+     * @param spec The filter to apply.
+     * @return The count for every quadrant, including empty ones.
+     */
+    Map<Quadrant, Long> countByQuadrant(Specification<Task> spec);
+
+    /**
+     * Counts matching tasks per label with a single GROUP BY query.
+     * @param spec The filter to apply.
+     * @return The count per label, largest first; unlabelled tasks are counted under the empty string.
+     */
+    Map<String, Long> countByLabel(Specification<Task> spec);
+
+    /**
+     * Counts matching tasks per due-date bucket with a single aggregate query.
+     * @param spec The filter to apply.
+     * @param today The date the buckets are relative to.
+     * @return The count for every bucket, including empty ones.
+     */
+    Map<DueDateBucket, Long> countByDueDateBucket(Specification<Task> spec, LocalDate today);
+
+    /**
+     * Selects only the given attributes of the matching tasks, so unrequested columns such as
+     * {@code details} are neither read from the database nor held in memory.
+     * @param spec The filter to apply.
+     * @param sort The order of the rows.
+     * @param fields Names of the Task attributes to select.
+     * @param limit Maximum number of rows, or 0 for no limit.
+     * @return One unmodifiable map per task, from attribute name to value, in the order of {@code fields}.
+     */
+    List<Map<String, Object>> findFields(Specification<Task> spec, Sort sort, List<String> fields, int limit);
+
+    /**
+     * Changes some attributes of one task with a single UPDATE that also increments its version and
+     * keeps the quadrant column in sync. The task's second-level cache entry is locked until the transaction
+     * completes, so no concurrent read can cache the old state.
+     * @param id The ID of the task to update.
+     * @param changes New values by attribute name; only title, details, label, dueDate, importance and urgency.
+     * @param expectedVersion The version the task must be at, or null to update any version.
+     * @return The task's state before and after the update, or empty if no task with that id (and version) exists.
+     */
+    Optional<FieldUpdate> updateFields(Long id, Map<String, Object> changes, Long expectedVersion);
+
+    /**
+     * Deletes one task with a single DELETE. Its second-level cache entry is locked until the transaction
+     * completes, so no concurrent read can cache it again.
+     * @param id The ID of the task to delete.
+     * @return The task as it was before the deletion, or empty if none had that id.
+     */
+    Optional<Task> removeById(Long id);
+
+    /**
+     * Promotes up to {@code limit} NOT_URGENT tasks due on or before the given date to URGENT, earliest due first,
+     * with a single UPDATE that also moves their quadrant and bumps their version. Their second-level cache
+     * entries are locked until the transaction completes, so no concurrent read can cache them as NOT_URGENT.
+     * @param dueBy The latest due date to escalate.
+     * @param limit The maximum number of tasks to escalate.
+     * @return The escalated tasks in their new state; fewer than {@code limit} once none are left.
+     */
+    List<Task> escalateDueBy(LocalDate dueBy, int limit);
+
+    /**
+     * Loads the tasks with the given ids in the order of the ids, taking those already in the second-level
+     * cache from there and fetching the rest with batched primary-key queries.
+     * @param ids The ids to load, in the wanted order.
+     * @return The tasks in the order of {@code ids}; ids without a task are skipped.
+     */
+    List<Task> findAllByIdInOrder(List<Long> ids);
+
+    /**
+     * The outcome of {@link #updateFields}.
+     * @param previous The task as it was before the update.
+     * @param task The task's new state.
+     */
+    record FieldUpdate(Task previous, Task task) {
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.taskmatrix;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Criteria-based implementation of {@link TaskRepositoryCustom}.
+ * Every method runs one query or statement and never loads Task entities, except {@link #findAllByIdInOrder},
+ * which exists to load them.
+ * Single-task writes go through JDBC rather than JPQL bulk statements, because Hibernate answers a bulk
+ * statement by invalidating the whole Task cache region. Instead, each write soft-locks the second-level cache
+ * entries of the rows it changed until its transaction completes, as Hibernate does for its own updates and
+ * deletes.
+ */
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    // Columns that updateFields may change, by attribute name.
+    private static final Map<String, String> UPDATABLE_COLUMNS = Map.of(
+            "title", "title",
+            "details", "details",
+            "label", "label",
+            "dueDate", "due_date",
+            "importance", "importance",
+            "urgency", "urgency");
+
+    // Ids per primary-key query when loading tasks by id; H2 has no practical limit on IN lists.
+    private static final int ID_BATCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<Quadrant, Long> countByQuadrant(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        Path<Quadrant> quadrant = root.get("quadrant");
+        query.multiselect(quadrant, cb.count(root));
+        applyFilter(spec, root, query, cb);
+        query.groupBy(quadrant);
+
+        Map<Quadrant, Long> counts = new EnumMap<>(Quadrant.class);
+        for (Quadrant q : Quadrant.values()) {
+            counts.put(q, 0L);
+        }
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            counts.put(row.get(0, Quadrant.class), row.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> countByLabel(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        Path<String> label = root.get("label");
+        Expression<Long> count = cb.count(root);
+        query.multiselect(label, count);
+        applyFilter(spec, root, query, cb);
+        query.groupBy(label);
+        query.orderBy(cb.desc(count), cb.asc(label));
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            String key = row.get(0, String.class);
+            counts.merge(key == null ? "" : key, row.get(1, Long.class), Long::sum);
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<DueDateBucket, Long> countByDueDateBucket(Specification<Task> spec, LocalDate today) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        Path<LocalDate> dueDate = root.get("dueDate");
+        LocalDate weekEnd = today.plusDays(6);
+
+        // One row of conditional sums instead of GROUP BY over a computed bucket.
+        query.multiselect(
+                countWhere(cb, cb.lessThan(dueDate, today)),
+                countWhere(cb, cb.equal(dueDate, today)),
+                countWhere(cb, cb.and(cb.greaterThan(dueDate, today), cb.lessThanOrEqualTo(dueDate, weekEnd))),
+                countWhere(cb, cb.greaterThan(dueDate, weekEnd)),
+                countWhere(cb, cb.isNull(dueDate)));
+        applyFilter(spec, root, query, cb);
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        Map<DueDateBucket, Long> counts = new EnumMap<>(DueDateBucket.class);
+        DueDateBucket[] buckets = {
+                DueDateBucket.OVERDUE, DueDateBucket.TODAY, DueDateBucket.THIS_WEEK,
+                DueDateBucket.LATER, DueDateBucket.NO_DUE_DATE
+        };
+        for (int i = 0; i < buckets.length; i++) {
+            Long value = row.get(i, Long.class);
+            counts.put(buckets[i], value == null ? 0L : value); // SUM over no rows is NULL
+        }
+        return counts;
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Specification<Task> spec, Sort sort, List<String> fields, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections);
+        applyFilter(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(Collections.unmodifiableMap(row)); // Map.copyOf would reject null values
+        }
+        return rows;
+    }
+
+    @Override
+    @Transactional
+    public Optional<FieldUpdate> updateFields(Long id, Map<String, Object> changes, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("update task set ");
+        List<Object> args = new ArrayList<>();
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            String column = UPDATABLE_COLUMNS.get(change.getKey());
+            if (column == null) {
+                throw new IllegalArgumentException("Task attribute cannot be updated: " + change.getKey());
+            }
+            sql.append(column).append(" = ?, ");
+            Object value = change.getValue();
+            args.add(value instanceof Enum<?> e ? e.name() : value);
+        }
+        String quadrant = quadrantExpression(changes);
+        if (quadrant != null) {
+            sql.append("quadrant = ").append(quadrant).append(", ");
+        }
+        sql.append("version = version + 1 where id = ?");
+        args.add(id);
+        if (expectedVersion != null) {
+            sql.append(" and version = ?");
+            args.add(expectedVersion);
+        }
+
+        // H2's data change delta table returns the row as it was before the UPDATE, from the UPDATE itself;
+        // the new state follows from it and the changes.
+        List<Task> updated = jdbcTemplate.query("select * from old table (" + sql + ")",
+                (rs, rowNum) -> mapTask(rs), args.toArray());
+        if (updated.isEmpty()) {
+            return Optional.empty();
+        }
+        Task previous = updated.get(0);
+        lockCacheEntry(id, previous.getVersion());
+        return Optional.of(new FieldUpdate(previous, withChanges(previous, changes)));
+    }
+
+    @Override
+    @Transactional
+    public List<Task> escalateDueBy(LocalDate dueBy, int limit) {
+        // The subquery walks the (urgency, due_date) index, so each chunk only touches and locks its own rows.
+        String sql = "update task set urgency = '" + Urgency.URGENT.name() + "', quadrant = "
+                + quadrantExpression(Map.of("urgency", Urgency.URGENT)) + ", version = version + 1"
+                + " where id in (select id from task where urgency = '" + Urgency.NOT_URGENT.name() + "'"
+                + " and due_date <= ? order by due_date fetch first ? rows only)"
+                + " and urgency = '" + Urgency.NOT_URGENT.name() + "'";
+        List<Task> escalated = jdbcTemplate.query("select * from final table (" + sql + ")",
+                (rs, rowNum) -> mapTask(rs), dueBy, limit);
+        escalated.forEach(task -> lockCacheEntry(task.getId(), task.getVersion() - 1));
+        return escalated;
+    }
+
+    @Override
+    @Transactional
+    public Optional<Task> removeById(Long id) {
+        // The deleted row, returned by the DELETE itself.
+        List<Task> deleted = jdbcTemplate.query("select * from old table (delete from task where id = ?)",
+                (rs, rowNum) -> mapTask(rs), id);
+        deleted.forEach(task -> lockCacheEntry(id, task.getVersion()));
+        return deleted.stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> findAllByIdInOrder(List<Long> ids) {
+        List<Task> tasks = entityManager.unwrap(Session.class)
+                .byMultipleIds(Task.class)
+                .enableOrderedReturn(true)
+                .withBatchSize(ID_BATCH_SIZE)
+                .multiLoad(ids);
+        tasks.removeIf(Objects::isNull);
+        return tasks;
+    }
+
+    /**
+     * The new quadrant when importance or urgency change: a constant if both are given, otherwise a CASE over
+     * the unchanged column (SET expressions see the row's old values). Null if neither changes.
+     */
+    private static String quadrantExpression(Map<String, Object> changes) {
+        Importance importance = (Importance) changes.get("importance");
+        Urgency urgency = (Urgency) changes.get("urgency");
+        if (importance != null && urgency != null) {
+            return "'" + Quadrant.of(importance, urgency).name() + "'";
+        } else if (importance != null) {
+            return "case when urgency = '" + Urgency.URGENT.name() + "' then '"
+                    + Quadrant.of(importance, Urgency.URGENT).name() + "' else '"
+                    + Quadrant.of(importance, Urgency.NOT_URGENT).name() + "' end";
+        } else if (urgency != null) {
+            return "case when importance = '" + Importance.IMPORTANT.name() + "' then '"
+                    + Quadrant.of(Importance.IMPORTANT, urgency).name() + "' else '"
+                    + Quadrant.of(Importance.NOT_IMPORTANT, urgency).name() + "' end";
+        }
+        return null;
+    }
+
+    private static Task withChanges(Task previous, Map<String, Object> changes) {
+        Task task = new Task();
+        task.setId(previous.getId());
+        task.setTitle(previous.getTitle());
+        task.setDetails(previous.getDetails());
+        task.setLabel(previous.getLabel());
+        task.setDueDate(previous.getDueDate());
+        task.setImportance(previous.getImportance());
+        task.setUrgency(previous.getUrgency());
+        changes.forEach((attribute, value) -> {
+            switch (attribute) {
+                case "title" -> task.setTitle((String) value);
+                case "details" -> task.setDetails((String) value);
+                case "label" -> task.setLabel((String) value);
+                case "dueDate" -> task.setDueDate((LocalDate) value);
+                case "importance" -> task.setImportance((Importance) value);
+                case "urgency" -> task.setUrgency((Urgency) value);
+                default -> throw new IllegalArgumentException("Task attribute cannot be updated: " + attribute);
+            }
+        });
+        task.setVersion(previous.getVersion() + 1);
+        task.updateQuadrant();
+        return task;
+    }
+
+    private static Task mapTask(ResultSet rs) throws SQLException {
+        Task task = new Task();
+        task.setId(rs.getLong("id"));
+        task.setTitle(rs.getString("title"));
+        task.setDetails(rs.getString("details"));
+        task.setLabel(rs.getString("label"));
+        task.setDueDate(rs.getObject("due_date", LocalDate.class));
+        task.setImportance(Importance.valueOf(rs.getString("importance")));
+        task.setUrgency(Urgency.valueOf(rs.getString("urgency")));
+        task.setVersion(rs.getLong("version"));
+        task.updateQuadrant();
+        return task;
+    }
+
+    /**
+     * Soft-locks a task's second-level cache entry until the current transaction completes.
+     * While locked, the entry is a miss and loads cannot cache the task. After the unlock, loads can only cache
+     * a version newer than the one written over, so a read that loaded the old row before the write cannot put
+     * it back. The lock is taken after the statement but before the commit, which is all Hibernate's READ_WRITE
+     * strategy needs: the old row is visible to other transactions only until then.
+     * @param id The task's id.
+     * @param previousVersion The version the row had before this transaction's write.
+     */
+    private void lockCacheEntry(Long id, Long previousVersion) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Task.class);
+        EntityDataAccess cache = persister.getCacheAccessStrategy();
+        if (cache == null) {
+            return;
+        }
+        Object key = cache.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+        SoftLock lock = cache.lockItem(session, key, previousVersion);
+        session.getActionQueue().registerProcess((success, completed) -> cache.unlockItem(completed, key, lock));
+    }
+
+    private static Expression<Long> countWhere(CriteriaBuilder cb, Predicate condition) {
+        return cb.sum(cb.<Long>selectCase().when(condition, 1L).otherwise(0L));
+    }
+
+    private static void applyFilter(Specification<Task> spec, Root<Task> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
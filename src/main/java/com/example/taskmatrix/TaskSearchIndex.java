@@ -0,0 +1,307 @@
+package com.example.taskmatrix;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over {@link Task#getTitle()} and {@link Task#getDetails()}, used for full-text search.
+ * <p>
+ * Text is lower-cased and split into words at every character that is not a letter or digit. Each word maps
+ * to the tasks containing it and how often it occurs there, with title occurrences counting {@value #TITLE_WEIGHT}
+ * times. A search returns the tasks containing every word of the query, ranked by BM25: words that are rare
+ * across all tasks and frequent within a task score highest, and long texts are normalized so they do not win
+ * merely by containing more words.
+ * <p>
+ * Like {@link LabelTrigramIndex}, it is kept current from {@link TaskChangedEvent}s. Because it has to read
+ * every task's details, the startup rebuild runs on a background thread; searches are refused until it is done.
+ * If the rebuild fails, it is retried with exponential backoff.
+ */
+@Component
+public class TaskSearchIndex {
+
+    /** How many times a word in the title counts compared to one in the details. */
+    static final int TITLE_WEIGHT = 3;
+
+    // Standard BM25 parameters: term frequency saturation and length normalization.
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Longest wait between two attempts of the background rebuild. */
+    static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration retryDelay;
+
+    // Word -> task id -> weighted occurrences.
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // Task id -> the distinct words and weighted length of its text, to remove and score it.
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Ids changed by events while a rebuild is running; their event state wins over the rebuild's snapshot.
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    private record Document(String[] words, int length) {
+    }
+
+    /**
+     * Constructs a TaskSearchIndex.
+     * @param taskRepository The repository used to rebuild the index.
+     * @param transactionManager Runs the rebuild's streaming query in a read-only transaction.
+     * @param retryDelay Wait after the first failed background rebuild; doubled after each further failure.
+     */
+    @Autowired
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                           @Value("${taskmatrix.search.retry-delay:1s}") Duration retryDelay) {
+        this.taskRepository = taskRepository;
+        this.retryDelay = retryDelay;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Finds the tasks whose title or details contain every word of the query, best match first.
+     * @param query The search text.
+     * @return The ids of the matching tasks ordered by descending score, ties by id; or empty if the index
+     *         is still being built.
+     */
+    public Optional<List<Long>> search(String query) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Set<String> words = new LinkedHashSet<>(tokenize(query));
+        if (words.isEmpty()) {
+            return Optional.of(List.of());
+        }
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> lists = new ArrayList<>(words.size());
+            for (String word : words) {
+                Map<Long, Integer> list = postings.get(word);
+                if (list == null) {
+                    return Optional.of(List.of());
+                }
+                lists.add(list);
+            }
+            // Walk the rarest word's list; a task must appear in all of them.
+            lists.sort(Comparator.comparingInt(Map::size));
+            double averageLength = (double) totalLength / documents.size();
+            List<Hit> hits = new ArrayList<>(lists.get(0).size());
+            candidates:
+            for (Long id : lists.get(0).keySet()) {
+                double lengthNorm = K1 * (1 - B + B * documents.get(id).length() / averageLength);
+                double score = 0;
+                for (Map<Long, Integer> list : lists) {
+                    Integer frequency = list.get(id);
+                    if (frequency == null) {
+                        continue candidates;
+                    }
+                    double idf = Math.log(1 + (documents.size() - list.size() + 0.5) / (list.size() + 0.5));
+                    score += idf * frequency * (K1 + 1) / (frequency + lengthNorm);
+                }
+                hits.add(new Hit(id, score));
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id));
+            return Optional.of(hits.stream().map(Hit::id).toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Hit(Long id, double score) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Starts rebuilding the index on a virtual thread once the application has started, so startup
+     * and other requests do not wait for every task's text to be read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread.ofVirtual().name("task-search-index-rebuild").start(this::rebuildWithRetry);
+    }
+
+    /**
+     * Rebuilds the index on the calling thread, retrying failed attempts after a delay that doubles each time,
+     * up to {@link #MAX_RETRY_DELAY}.
+     * @return Whether the index was built; false if the thread was interrupted first.
+     */
+    boolean rebuildWithRetry() {
+        Duration delay = retryDelay;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                rebuild();
+                if (attempt > 1) {
+                    log.info("Search index built after {} attempts", attempt);
+                }
+                return true;
+            } catch (RuntimeException e) {
+                log.warn("Building the search index failed (attempt {}), retrying in {}", attempt, delay, e);
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Building the search index was interrupted; search stays unavailable");
+                return false;
+            }
+            delay = delay.multipliedBy(2);
+            if (delay.compareTo(MAX_RETRY_DELAY) > 0) {
+                delay = MAX_RETRY_DELAY;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the index from the task table on the calling thread.
+     * If reading the tasks fails, the index is left empty and not ready, and the exception is rethrown.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rebuilding = true;
+            touchedDuringRebuild.clear();
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        boolean built = false;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TaskRepository.TaskText> rows = taskRepository.streamText()) {
+                    rows.forEach(row -> {
+                        lock.writeLock().lock();
+                        try {
+                            if (!touchedDuringRebuild.contains(row.getId())) {
+                                put(row.getId(), row.getTitle(), row.getDetails());
+                            }
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    });
+                }
+            });
+            built = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                touchedDuringRebuild.clear();
+                if (built) {
+                    ready = true;
+                } else {
+                    // A partial index would silently miss tasks; the next rebuild starts over.
+                    postings.clear();
+                    documents.clear();
+                    totalLength = 0;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Applies a committed task change to the index.
+     * Runs before {@link TaskQueryCache} invalidates cached results that may depend on the index.
+     * @param event The change published by {@link TaskService}.
+     */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                touchedDuringRebuild.add(event.taskId());
+            }
+            remove(event.taskId());
+            if (event.task() != null) {
+                put(event.taskId(), event.task().getTitle(), event.task().getDetails());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Long id, String title, String details) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String word : tokenize(title)) {
+            frequencies.merge(word, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String word : tokenize(details)) {
+            frequencies.merge(word, 1, Integer::sum);
+        }
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(id, entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(id, new Document(frequencies.keySet().toArray(String[]::new), length));
+        totalLength += length;
+    }
+
+    private void remove(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length();
+        for (String word : previous.words()) {
+            Map<Long, Integer> ids = postings.get(word);
+            if (ids != null && ids.remove(id) != null && ids.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Splits text into lower-cased words of letters and digits.
+     * @param text The text, possibly null.
+     * @return The words in order of appearance, with repeats.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+}
@@ -5,32 +5,138 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import com.example.taskmatrix.exception.PreconditionFailedException;
 import com.example.taskmatrix.exception.ResourceNotFoundException;
+import com.example.taskmatrix.exception.SearchIndexNotReadyException;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing tasks.
+ * Every public method is timed as {@code taskmatrix.service} (tagged with class, method and exception),
+ * and failures are also counted as {@code taskmatrix.service.errors}.
  */
 @Service
+@Timed(value = "taskmatrix.service", description = "Latency of TaskService methods")
+@Counted(value = "taskmatrix.service.errors", recordFailuresOnly = true,
+        description = "TaskService method calls that threw an exception")
 public class TaskService {
 
+    /** Timer for {@link #getAllTasks}, tagged with the filters that were active and the sort field. */
+    public static final String QUERY_TIMER = "taskmatrix.tasks.query";
+
+    /** Page size used when a cursor is supplied without an explicit limit. */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /** Upper bound on the number of tasks a single page request may return. */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /** Fields that can be requested with {@link #getTaskFields}; the id is always returned. */
+    public static final List<String> FIELDS =
+            List.of("id", "title", "details", "label", "dueDate", "importance", "urgency", "quadrant");
+
+    /** Upper bound on the number of items accepted by a single batch request. */
+    public static final int MAX_BATCH_SIZE = 10000;
+
+    /** Number of CSV rows inserted per transaction by {@link #importTasks}. */
+    public static final int IMPORT_CHUNK_SIZE = 500;
+
+    /** Upper bound on the number of rejected rows listed individually in an {@link ImportResult}. */
+    public static final int MAX_IMPORT_ERRORS = 100;
+
+    /** Upper bound on the length, in characters, of a single CSV record accepted by {@link #importTasks}. */
+    public static final int MAX_IMPORT_RECORD_LENGTH = 100_000;
+
+    /** Columns {@link #importTasks} accepts in the CSV header, in any order and case. */
+    public static final List<String> IMPORT_COLUMNS =
+            List.of("title", "details", "label", "dueDate", "importance", "urgency");
+
+    /** Number of results returned by {@link #searchTasks} when no limit is given. */
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    // Ranked search hits are checked against the filters this many ids per query.
+    private static final int SEARCH_FILTER_BATCH = 1000;
+
     private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final LabelTrigramIndex labelIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskQueryCache queryCache;
+    private final TaskColumnStore columnStore;
+    private final TaskSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Constructs a TaskService with the given TaskRepository.
      * @param taskRepository The repository for task data.
+     * @param entityManager The entity manager used to detach streamed tasks.
+     * @param validator The bean validator used to check individual items of batch requests.
+     * @param labelIndex The trigram index used to resolve label filters.
+     * @param eventPublisher Publishes a {@link TaskChangedEvent} for every write.
+     * @param queryCache Caches listing, page and facet results until the next write.
+     * @param columnStore In-memory columns that answer {@link #getAllTasks} without a database query, when enabled.
+     * @param searchIndex The full-text index used by {@link #searchTasks}.
+     * @param transactionTemplate Runs each chunk of {@link #importTasks} in its own transaction.
+     * @param meterRegistry Registry for the per-query-shape timers of {@link #getAllTasks}.
      */
     @Autowired
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, EntityManager entityManager, Validator validator,
+                       LabelTrigramIndex labelIndex, ApplicationEventPublisher eventPublisher,
+                       TaskQueryCache queryCache, TaskColumnStore columnStore, TaskSearchIndex searchIndex,
+                       TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
         this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.labelIndex = labelIndex;
+        this.eventPublisher = eventPublisher;
+        this.queryCache = queryCache;
+        this.columnStore = columnStore;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -41,6 +147,13 @@ public class TaskService {
      * @return The created task.
      */
     public Task createTask(Task task) {
+        validateNewTask(task);
+        Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(saved));
+        return saved;
+    }
+
+    private void validateNewTask(Task task) {
         if (!StringUtils.hasText(task.getTitle())) {
             throw new IllegalArgumentException("Task title cannot be null or empty.");
         }
@@ -50,7 +163,219 @@ public class TaskService {
         if (task.getUrgency() == null) {
             throw new IllegalArgumentException("Task urgency cannot be null.");
         }
-        return taskRepository.save(task);
+    }
+
+    /**
+     * Creates many tasks in a single transaction.
+     * Each task is validated on its own, against both the entity constraints and the rules of
+     * {@link #createTask}; invalid tasks are reported in the result and skipped, while the valid ones
+     * are inserted together using JDBC batching.
+     * @param tasks The tasks to create.
+     * @return The per-item outcome, in request order.
+     * @throws IllegalArgumentException if the batch is empty or larger than {@link #MAX_BATCH_SIZE}.
+     */
+    @Transactional
+    public BatchResult createTasks(List<Task> tasks) {
+        validateBatchSize(tasks);
+        BatchResult.ItemResult[] results = new BatchResult.ItemResult[tasks.size()];
+        List<Task> accepted = new ArrayList<>(tasks.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(tasks.size());
+
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            try {
+                validateConstraints(task);
+                validateNewTask(task);
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchResult.ItemResult.failed(i, task == null ? null : task.getId(), e.getMessage());
+                continue;
+            }
+            task.setId(null); // Always insert; never merge into an existing row.
+            accepted.add(task);
+            acceptedIndexes.add(i);
+        }
+
+        List<Task> saved = taskRepository.saveAll(accepted);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results[index] = BatchResult.ItemResult.succeeded(index, saved.get(i).getId());
+            eventPublisher.publishEvent(TaskChangedEvent.created(saved.get(i)));
+        }
+        return BatchResult.of(Arrays.asList(results));
+    }
+
+    /**
+     * Imports tasks from CSV, parsing, validating and inserting them while the input is being read, so memory use
+     * does not depend on the size of the input.
+     * The first line is a header naming the columns (see {@link #IMPORT_COLUMNS}); title, importance and urgency
+     * are required. Each row is checked against the same rules as {@link #createTask}, and invalid rows are
+     * reported and skipped. Valid rows are inserted {@link #IMPORT_CHUNK_SIZE} at a time, each chunk in its own
+     * transaction, after which the persistence context is flushed and cleared. Chunks committed before a failure
+     * stay imported.
+     * @param csv The CSV text.
+     * @return How many rows were imported and rejected, and why.
+     * @throws IllegalArgumentException if the input is empty or its header is invalid; nothing is imported then.
+     */
+    public ImportResult importTasks(Reader csv) {
+        try (CsvReader reader = new CsvReader(csv, MAX_IMPORT_RECORD_LENGTH)) {
+            List<String> header;
+            try {
+                header = reader.next();
+            } catch (CsvReader.CsvFormatException e) {
+                throw new IllegalArgumentException("Invalid CSV header: " + e.getMessage());
+            }
+            if (header == null) {
+                throw new IllegalArgumentException("CSV input is empty; expected a header line.");
+            }
+            Map<String, Integer> columns = importColumns(header);
+
+            ImportTally tally = new ImportTally();
+            List<Task> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+            long chunkStart = 0;
+            boolean complete = true;
+            while (true) {
+                List<String> row;
+                try {
+                    row = reader.next();
+                } catch (CsvReader.CsvFormatException e) {
+                    // Where the broken record ends is unknown, so nothing after it can be read reliably.
+                    tally.reject(e.getLine(), e.getMessage());
+                    complete = false;
+                    break;
+                }
+                if (row == null) {
+                    break;
+                }
+                try {
+                    Task task = parseImportRow(row, header.size(), columns);
+                    validateConstraints(task);
+                    validateNewTask(task);
+                    if (chunk.isEmpty()) {
+                        chunkStart = reader.recordLine();
+                    }
+                    chunk.add(task);
+                } catch (IllegalArgumentException e) {
+                    tally.reject(reader.recordLine(), e.getMessage());
+                }
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    insertImportChunk(chunk, chunkStart, tally);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                insertImportChunk(chunk, chunkStart, tally);
+            }
+            return tally.toResult(complete);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Integer> importColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            String column = IMPORT_COLUMNS.stream().filter(name::equalsIgnoreCase).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown CSV column: " + name
+                            + ". Expected some of " + String.join(", ", IMPORT_COLUMNS) + "."));
+            if (columns.put(column, i) != null) {
+                throw new IllegalArgumentException("Duplicate CSV column: " + column + ".");
+            }
+        }
+        if (!columns.keySet().containsAll(List.of("title", "importance", "urgency"))) {
+            throw new IllegalArgumentException("CSV header must contain the columns title, importance and urgency.");
+        }
+        return columns;
+    }
+
+    private static Task parseImportRow(List<String> row, int width, Map<String, Integer> columns) {
+        if (row.size() != width) {
+            throw new IllegalArgumentException("Expected " + width + " fields but found " + row.size() + ".");
+        }
+        Task task = new Task();
+        task.setTitle(importValue(row, columns, "title"));
+        task.setDetails(importValue(row, columns, "details"));
+        task.setLabel(importValue(row, columns, "label"));
+        String dueDate = importValue(row, columns, "dueDate");
+        if (dueDate != null) {
+            try {
+                task.setDueDate(LocalDate.parse(dueDate.trim()));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid dueDate '" + dueDate + "'; expected yyyy-MM-dd.");
+            }
+        }
+        String importance = importValue(row, columns, "importance");
+        if (importance != null) {
+            task.setImportance(importEnum(Importance.class, "importance", importance));
+        }
+        String urgency = importValue(row, columns, "urgency");
+        if (urgency != null) {
+            task.setUrgency(importEnum(Urgency.class, "urgency", urgency));
+        }
+        return task;
+    }
+
+    // An empty field means no value.
+    private static String importValue(List<String> row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null || row.get(index).isEmpty() ? null : row.get(index);
+    }
+
+    private static <E extends Enum<E>> E importEnum(Class<E> type, String column, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + value + "'; expected one of "
+                    + Arrays.stream(type.getEnumConstants()).map(Enum::name).collect(Collectors.joining(", ")) + ".");
+        }
+    }
+
+    /**
+     * Inserts one chunk of imported tasks in its own transaction. Imported tasks bypass the second-level cache,
+     * so a large import does not evict the tasks that are actually being read.
+     */
+    private void insertImportChunk(List<Task> chunk, long firstLine, ImportTally tally) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                taskRepository.saveAll(chunk);
+                taskRepository.flush();
+                entityManager.clear();
+                chunk.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.created(task)));
+            });
+            tally.imported += chunk.size();
+        } catch (DataAccessException e) {
+            tally.rejectChunk(firstLine, chunk.size(), "Chunk of " + chunk.size() + " rows starting here was not imported: "
+                    + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Running totals of an import; only the first {@link #MAX_IMPORT_ERRORS} errors are kept.
+     */
+    private static final class ImportTally {
+
+        private long imported;
+        private long failed;
+        private final List<ImportResult.LineError> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+
+        void reject(long line, String error) {
+            rejectChunk(line, 1, error);
+        }
+
+        void rejectChunk(long line, int rows, String error) {
+            failed += rows;
+            if (errors.size() < MAX_IMPORT_ERRORS) {
+                errors.add(new ImportResult.LineError(line, error));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        ImportResult toResult(boolean complete) {
+            return new ImportResult(imported, failed, List.copyOf(errors), errorsTruncated, complete);
+        }
     }
 
     /**
@@ -84,21 +409,506 @@ public class TaskService {
             String sortBy,
             String sortDir) {
 
-        Specification<Task> spec = TaskSpecification.getTasksByCriteria(
+        Sort.Direction direction = resolveDirection(sortDir);
+        String sortField = resolveSortField(sortBy);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            QueryKey key = QueryKey.of("list", label, dueDateBefore, dueDateAfter, importance, urgency, quadrant,
+                    sortField, direction, null);
+            return queryCache.get(key, () -> {
+                // The column store scans its arrays for the matching ids, so only those tasks are loaded.
+                Optional<List<Long>> ids = columnStore.findIds(
+                        label, dueDateBefore, dueDateAfter, importance, urgency, quadrant, sortField, direction);
+                if (ids.isPresent()) {
+                    return List.copyOf(taskRepository.findAllByIdInOrder(ids.get()));
+                }
+                Specification<Task> spec = buildSpecification(
+                        label, dueDateBefore, dueDateAfter, importance, urgency, quadrant
+                );
+                return List.copyOf(taskRepository.findAll(spec, Sort.by(direction, sortField)));
+            });
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            // Tag with which filters were present, not their values, to keep the number of timers bounded.
+            sample.stop(Timer.builder(QUERY_TIMER)
+                    .description("Latency of task listings by query shape")
+                    .tag("label", String.valueOf(StringUtils.hasLength(label)))
+                    .tag("dueDateBefore", String.valueOf(dueDateBefore != null))
+                    .tag("dueDateAfter", String.valueOf(dueDateAfter != null))
+                    .tag("importance", String.valueOf(importance != null))
+                    .tag("urgency", String.valueOf(urgency != null))
+                    .tag("quadrant", String.valueOf(quadrant != null))
+                    .tag("sortBy", sortField)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Retrieves one page of tasks using keyset (cursor) pagination.
+     * Tasks are ordered by the sort field and then by id, and each page continues strictly after
+     * the (sort value, id) pair encoded in the cursor, so deep pages cost the same as the first one.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant (derived from importance and urgency).
+     * @param sortBy Field to sort by (e.g., "dueDate", "title"). Defaults to "id".
+     * @param sortDir Sort direction ("asc" or "desc"). Defaults to "asc".
+     * @param cursor Optional cursor returned with the previous page; null for the first page.
+     * @param limit Maximum number of tasks to return, between 1 and {@link #MAX_PAGE_SIZE}.
+     * @return The requested page together with the cursor for the next one, if any.
+     * @throws IllegalArgumentException if the limit is out of range or the cursor is invalid
+     *         or was issued for a different sort order.
+     */
+    public TaskPage getTasksPage(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            String sortBy,
+            String sortDir,
+            String cursor,
+            int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        Sort.Direction direction = resolveDirection(sortDir);
+        String sortField = resolveSortField(sortBy);
+
+        QueryKey key = QueryKey.of("page", label, dueDateBefore, dueDateAfter, importance, urgency, quadrant,
+                sortField, direction, List.of(StringUtils.hasText(cursor) ? cursor : "", limit));
+        return queryCache.get(key, () -> loadTasksPage(
+                label, dueDateBefore, dueDateAfter, importance, urgency, quadrant, sortField, direction, cursor, limit));
+    }
+
+    private TaskPage loadTasksPage(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            String sortField,
+            Sort.Direction direction,
+            String cursor,
+            int limit) {
+
+        Specification<Task> spec = pageSpecification(
+                label, dueDateBefore, dueDateAfter, importance, urgency, quadrant, sortField, direction, cursor);
+        Sort sort = pageSort(sortField, direction);
+
+        // Fetch one extra row to find out whether another page follows.
+        List<Task> rows = taskRepository.findBy(spec, query -> query.sortBy(sort).limit(limit + 1).all());
+        if (rows.size() <= limit) {
+            return new TaskPage(List.copyOf(rows), null);
+        }
+        List<Task> tasks = List.copyOf(rows.subList(0, limit));
+        String nextCursor = TaskCursor.after(tasks.get(limit - 1), sortField, direction).encode();
+        return new TaskPage(tasks, nextCursor);
+    }
+
+    /**
+     * Retrieves only the requested fields of all tasks matching the filters, using a projection query
+     * that leaves the other columns (notably the {@code details} text) unread.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant (derived from importance and urgency).
+     * @param sortBy Field to sort by (e.g., "dueDate", "title"). Defaults to "id".
+     * @param sortDir Sort direction ("asc" or "desc"). Defaults to "asc".
+     * @param fields Comma-separated names from {@link #FIELDS}; the id is always included.
+     * @return One map per task from field name to value, sorted as specified.
+     * @throws IllegalArgumentException if no field or an unknown field is requested.
+     */
+    public List<Map<String, Object>> getTaskFields(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            String sortBy,
+            String sortDir,
+            String fields) {
+
+        List<String> selected = resolveFields(fields);
+        Sort.Direction direction = resolveDirection(sortDir);
+        String sortField = resolveSortField(sortBy);
+
+        QueryKey key = QueryKey.of("fields", label, dueDateBefore, dueDateAfter, importance, urgency, quadrant,
+                sortField, direction, selected);
+        return queryCache.get(key, () -> {
+            Specification<Task> spec = buildSpecification(
+                    label, dueDateBefore, dueDateAfter, importance, urgency, quadrant
+            );
+            return List.copyOf(taskRepository.findFields(spec, Sort.by(direction, sortField), selected, 0));
+        });
+    }
+
+    /**
+     * Retrieves one keyset-paginated page of the requested task fields.
+     * Paging works as in {@link #getTasksPage}, and cursors are interchangeable between the two methods.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant (derived from importance and urgency).
+     * @param sortBy Field to sort by (e.g., "dueDate", "title"). Defaults to "id".
+     * @param sortDir Sort direction ("asc" or "desc"). Defaults to "asc".
+     * @param cursor Optional cursor returned with the previous page; null for the first page.
+     * @param limit Maximum number of tasks to return, between 1 and {@link #MAX_PAGE_SIZE}.
+     * @param fields Comma-separated names from {@link #FIELDS}; the id is always included.
+     * @return The requested page together with the cursor for the next one, if any.
+     * @throws IllegalArgumentException if the fields, the limit or the cursor are invalid.
+     */
+    public TaskFieldsPage getTaskFieldsPage(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            String sortBy,
+            String sortDir,
+            String cursor,
+            int limit,
+            String fields) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        List<String> selected = resolveFields(fields);
+        Sort.Direction direction = resolveDirection(sortDir);
+        String sortField = resolveSortField(sortBy);
+
+        QueryKey key = QueryKey.of("fieldsPage", label, dueDateBefore, dueDateAfter, importance, urgency, quadrant,
+                sortField, direction, List.of(StringUtils.hasText(cursor) ? cursor : "", limit, selected));
+        return queryCache.get(key, () -> {
+            Specification<Task> spec = pageSpecification(
+                    label, dueDateBefore, dueDateAfter, importance, urgency, quadrant, sortField, direction, cursor);
+            // The sort field is needed for the next cursor even when it was not requested.
+            List<String> columns = new ArrayList<>(selected);
+            if (!columns.contains(sortField)) {
+                columns.add(sortField);
+            }
+
+            List<Map<String, Object>> rows = taskRepository.findFields(
+                    spec, pageSort(sortField, direction), columns, limit + 1);
+            String nextCursor = null;
+            if (rows.size() > limit) {
+                rows = rows.subList(0, limit);
+                Map<String, Object> last = rows.get(limit - 1);
+                nextCursor = new TaskCursor(sortField, direction, last.get(sortField), (Long) last.get("id")).encode();
+            }
+            if (columns.size() > selected.size()) {
+                rows = rows.stream().map(row -> retain(row, selected)).toList();
+            }
+            return new TaskFieldsPage(List.copyOf(rows), nextCursor);
+        });
+    }
+
+    private static Map<String, Object> retain(Map<String, Object> row, List<String> fields) {
+        Map<String, Object> retained = new LinkedHashMap<>();
+        for (String field : fields) {
+            retained.put(field, row.get(field));
+        }
+        return Collections.unmodifiableMap(retained);
+    }
+
+    /**
+     * Parses a comma-separated field list into the selected fields, id first and without duplicates.
+     */
+    private static List<String> resolveFields(String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        if (fields != null) {
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (!FIELDS.contains(name)) {
+                    throw new IllegalArgumentException("Unknown field: " + name + ". Valid fields are " + FIELDS + ".");
+                }
+                selected.add(name);
+            }
+        }
+        return List.copyOf(selected);
+    }
+
+    /**
+     * Builds the filter specification of a page, restricted to the rows after the cursor if one is given.
+     */
+    private Specification<Task> pageSpecification(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            String sortField,
+            Sort.Direction direction,
+            String cursor) {
+        Specification<Task> spec = buildSpecification(
                 label, dueDateBefore, dueDateAfter, importance, urgency, quadrant
         );
+        if (StringUtils.hasText(cursor)) {
+            TaskCursor after = TaskCursor.decode(cursor);
+            if (!after.getSortField().equals(sortField) || after.getDirection() != direction) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort order.");
+            }
+            spec = spec.and(TaskSpecification.after(after));
+        }
+        return spec;
+    }
 
-        Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        // Handle potential invalid sortBy field to prevent errors
-        String sortField = (sortBy == null || sortBy.trim().isEmpty() || !isValidSortField(sortBy)) ? "id" : sortBy;
+    /**
+     * The id tie-breaker makes the order total, which the keyset predicate relies on.
+     */
+    private static Sort pageSort(String sortField, Sort.Direction direction) {
+        return "id".equals(sortField)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+    }
 
-        return taskRepository.findAll(spec, Sort.by(direction, sortField));
+    /**
+     * Searches the title and details of all tasks for every word of the query, best match first.
+     * Matches are ranked by {@link TaskSearchIndex}; the filters are then applied to the ranked ids in
+     * batches, so only as many tasks are loaded as it takes to fill the limit.
+     * @param query The words to search for.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant (derived from importance and urgency).
+     * @param limit Maximum number of tasks to return, between 1 and {@link #MAX_PAGE_SIZE}.
+     * @return The best-matching tasks, in descending order of relevance.
+     * @throws IllegalArgumentException if the query has no words or the limit is out of range.
+     * @throws SearchIndexNotReadyException if the index is still being built after startup.
+     */
+    public List<Task> searchTasks(
+            String query,
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            int limit) {
+
+        List<String> words = TaskSearchIndex.tokenize(query);
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word.");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        QueryKey key = QueryKey.of("search", label, dueDateBefore, dueDateAfter, importance, urgency, quadrant,
+                null, null, List.of(String.join(" ", words), limit));
+        return queryCache.get(key, () -> {
+            List<Long> ranked = searchIndex.search(query).orElseThrow(() ->
+                    new SearchIndexNotReadyException("The search index is still being built, please retry later."));
+            boolean filtered = StringUtils.hasLength(label) || dueDateBefore != null || dueDateAfter != null
+                    || importance != null || urgency != null || quadrant != null;
+            if (!filtered) {
+                return List.copyOf(taskRepository.findAllByIdInOrder(ranked.subList(0, Math.min(limit, ranked.size()))));
+            }
+            Specification<Task> spec = buildSpecification(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant);
+            List<Task> results = new ArrayList<>(limit);
+            for (int from = 0; from < ranked.size() && results.size() < limit; from += SEARCH_FILTER_BATCH) {
+                List<Long> batch = ranked.subList(from, Math.min(from + SEARCH_FILTER_BATCH, ranked.size()));
+                Map<Long, Task> matches = taskRepository.findAll(spec.and(TaskSpecification.hasIdIn(batch))).stream()
+                        .collect(Collectors.toMap(Task::getId, task -> task));
+                for (Long id : batch) {
+                    Task task = matches.get(id);
+                    if (task != null && results.size() < limit) {
+                        results.add(task);
+                    }
+                }
+            }
+            return List.copyOf(results);
+        });
+    }
+
+    /**
+     * Counts the tasks matching the filters per quadrant, per label and per due-date bucket.
+     * The counts come from aggregate queries; no task entities are loaded.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant (derived from importance and urgency).
+     * @return The facet counts for the matching tasks.
+     */
+    @Transactional(readOnly = true)
+    public TaskFacets getFacets(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant) {
+
+        // The due-date buckets are relative to today, so the date is part of the key.
+        LocalDate today = LocalDate.now();
+        QueryKey key = QueryKey.of("facets", label, dueDateBefore, dueDateAfter, importance, urgency, quadrant,
+                null, null, today);
+        return queryCache.get(key, () -> {
+            Specification<Task> spec = buildSpecification(
+                    label, dueDateBefore, dueDateAfter, importance, urgency, quadrant
+            );
+            Map<Quadrant, Long> quadrants = taskRepository.countByQuadrant(spec);
+            Map<String, Long> labels = taskRepository.countByLabel(spec);
+            Map<DueDateBucket, Long> dueDates = taskRepository.countByDueDateBucket(spec, today);
+            long total = quadrants.values().stream().mapToLong(Long::longValue).sum();
+            return new TaskFacets(total, quadrants, labels, dueDates);
+        });
+    }
+
+    /**
+     * Counts the tasks matching the filters per quadrant with a single aggregate query, for callers that need
+     * only the quadrant counts of {@link #getFacets}.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant (derived from importance and urgency).
+     * @return The count for every quadrant, including empty ones.
+     */
+    @Transactional(readOnly = true)
+    public Map<Quadrant, Long> getQuadrantCounts(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant) {
+
+        QueryKey key = QueryKey.of("quadrantCounts", label, dueDateBefore, dueDateAfter, importance, urgency, quadrant,
+                null, null, null);
+        return queryCache.get(key, () -> taskRepository.countByQuadrant(buildSpecification(
+                label, dueDateBefore, dueDateAfter, importance, urgency, quadrant
+        )));
+    }
+
+    /**
+     * Streams every task matching the filters to the given consumer, one task at a time.
+     * Rows are read through a forward-only repository stream inside a read-only transaction,
+     * and each task is detached from the persistence context as soon as the consumer returns,
+     * so memory use does not grow with the number of matching rows.
+     * @param label Optional filter by label (contains, case-insensitive).
+     * @param dueDateBefore Optional filter for due date before or on this date.
+     * @param dueDateAfter Optional filter for due date after or on this date.
+     * @param importance Optional filter by importance.
+     * @param urgency Optional filter by urgency.
+     * @param quadrant Optional filter by quadrant (derived from importance and urgency).
+     * @param sortBy Field to sort by (e.g., "dueDate", "title"). Defaults to "id".
+     * @param sortDir Sort direction ("asc" or "desc"). Defaults to "asc".
+     * @param consumer Receives each matching task in sort order.
+     */
+    @Transactional(readOnly = true)
+    public void streamTasks(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            String sortBy,
+            String sortDir,
+            Consumer<Task> consumer) {
+
+        Specification<Task> spec = buildSpecification(
+                label, dueDateBefore, dueDateAfter, importance, urgency, quadrant
+        );
+        Sort sort = Sort.by(resolveDirection(sortDir), resolveSortField(sortBy));
+
+        try (Stream<Task> tasks = taskRepository.findBy(spec, query -> query.sortBy(sort).stream())) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    /**
+     * Builds the filter specification, resolving the label filter through the trigram index when it can
+     * answer exactly, so the database matches ids instead of scanning every label with {@code LIKE}.
+     */
+    private Specification<Task> buildSpecification(
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant) {
+        if (label != null && !label.isEmpty()) {
+            Optional<Set<Long>> labelMatches = labelIndex.findIdsContaining(label);
+            if (labelMatches.isPresent()) {
+                return TaskSpecification.getTasksByCriteria(null, dueDateBefore, dueDateAfter, importance, urgency, quadrant)
+                        .and(TaskSpecification.hasIdIn(labelMatches.get()));
+            }
+        }
+        return TaskSpecification.getTasksByCriteria(label, dueDateBefore, dueDateAfter, importance, urgency, quadrant);
+    }
+
+    /**
+     * Cache key of a read query. The label is lower-cased because the label filter ignores case,
+     * and the sort is the resolved one, so equivalent requests share an entry.
+     * @param kind Which query the key belongs to ("list", "page" or "facets").
+     * @param qualifier Extra inputs of the query, such as the cursor and limit of a page.
+     */
+    private record QueryKey(
+            String kind,
+            String label,
+            LocalDate dueDateBefore,
+            LocalDate dueDateAfter,
+            Importance importance,
+            Urgency urgency,
+            Quadrant quadrant,
+            String sortField,
+            Sort.Direction direction,
+            Object qualifier) {
+
+        static QueryKey of(String kind, String label, LocalDate dueDateBefore, LocalDate dueDateAfter,
+                           Importance importance, Urgency urgency, Quadrant quadrant,
+                           String sortField, Sort.Direction direction, Object qualifier) {
+            String normalizedLabel = label == null || label.isEmpty() ? null : label.toLowerCase();
+            return new QueryKey(kind, normalizedLabel, dueDateBefore, dueDateAfter, importance, urgency, quadrant,
+                    sortField, direction, qualifier);
+        }
+    }
+
+    private Sort.Direction resolveDirection(String sortDir) {
+        return "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    private String resolveSortField(String sortBy) {
+        // Handle potential invalid sortBy field to prevent errors
+        return (sortBy == null || sortBy.trim().isEmpty() || !isValidSortField(sortBy)) ? "id" : sortBy;
     }
 
     private boolean isValidSortField(String fieldName) {
         // Simple validation: check against known Task fields.
         // For a more robust solution, one might use reflection or a predefined list.
-        return List.of("id", "title", "dueDate", "label", "importance", "urgency").contains(fieldName);
+        return List.of("id", "title", "dueDate", "label", "importance", "urgency", "quadrant").contains(fieldName);
     }
 
 
@@ -114,9 +924,134 @@ public class TaskService {
      * @throws IllegalArgumentException if validation for title, importance, or urgency fails.
      */
     public Task updateTask(Long id, Task taskDetails) {
+        return updateTask(id, taskDetails, null);
+    }
+
+    /**
+     * Updates an existing task, provided it is still at the version the caller last read.
+     * The version is checked again by the UPDATE itself, so a concurrent change between reading
+     * and writing the task is detected instead of being overwritten.
+     * @param id The ID of the task to update.
+     * @param taskDetails The details of the task to update.
+     * @param expectedVersion The version the caller last read, or null to accept the current version.
+     * @return The updated task.
+     * @throws ResourceNotFoundException if the task with the given ID is not found.
+     * @throws PreconditionFailedException if the task is not at the expected version, or changed concurrently.
+     * @throws IllegalArgumentException if validation for title, importance, or urgency fails.
+     */
+    public Task updateTask(Long id, Task taskDetails, Long expectedVersion) {
+        return update(id, taskDetails, expectedVersion).task();
+    }
+
+    /**
+     * Updates an existing task like {@link #updateTask(Long, Task)}, and also tells which quadrant it was in
+     * before, so a caller showing quadrants can re-render the one the task left without reading it first.
+     * @param id The ID of the task to update.
+     * @param taskDetails The details of the task to update.
+     * @return The updated task and its previous quadrant.
+     * @throws ResourceNotFoundException if the task with the given ID is not found.
+     * @throws IllegalArgumentException if validation for title, importance, or urgency fails.
+     */
+    public TaskUpdate updateTaskWithPreviousQuadrant(Long id, Task taskDetails) {
+        return update(id, taskDetails, null);
+    }
+
+    private TaskUpdate update(Long id, Task taskDetails, Long expectedVersion) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException(
+                    "Task " + id + " is at version " + task.getVersion() + ", not " + expectedVersion + ".");
+        }
+
+        Quadrant previousQuadrant = task.getQuadrant();
+        String previousLabel = task.getLabel();
+        applyUpdate(task, taskDetails);
+
+        Task saved;
+        try {
+            saved = taskRepository.save(task);
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedException("Task " + id + " was modified concurrently.", e);
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.updated(saved, previousQuadrant, previousLabel));
+        return new TaskUpdate(saved, previousQuadrant);
+    }
+
+    /**
+     * Applies a JSON Merge Patch (RFC 7396) to a task with a single UPDATE statement.
+     * Members present in the patch replace the task's values, a null member clears a nullable field
+     * (details, label, dueDate), and absent members are left unchanged.
+     * @param id The ID of the task to patch.
+     * @param patch The merge patch, as parsed from JSON.
+     * @param expectedVersion The version the caller last read, or null to accept the current version.
+     * @return The patched task.
+     * @throws ResourceNotFoundException if the task with the given ID is not found.
+     * @throws PreconditionFailedException if the task is not at the expected version.
+     * @throws IllegalArgumentException if the patch names an unknown or read-only field, or a value is invalid.
+     */
+    public Task patchTask(Long id, Map<String, Object> patch, Long expectedVersion) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> member : patch.entrySet()) {
+            changes.put(member.getKey(), patchValue(member.getKey(), member.getValue()));
+        }
+        if (changes.isEmpty()) {
+            Task task = taskRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+            if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                throw new PreconditionFailedException(
+                        "Task " + id + " is at version " + task.getVersion() + ", not " + expectedVersion + ".");
+            }
+            return task;
+        }
+
+        Optional<TaskRepositoryCustom.FieldUpdate> patched = taskRepository.updateFields(id, changes, expectedVersion);
+        if (patched.isEmpty()) {
+            // Only a failed version check needs a second query to tell the two cases apart.
+            if (expectedVersion != null && taskRepository.existsById(id)) {
+                throw new PreconditionFailedException("Task " + id + " is not at version " + expectedVersion + ".");
+            }
+            throw new ResourceNotFoundException("Task not found with id: " + id);
+        }
+        Task previous = patched.get().previous();
+        Task task = patched.get().task();
+        eventPublisher.publishEvent(TaskChangedEvent.updated(task, previous.getQuadrant(), previous.getLabel()));
+        return task;
+    }
 
+    /**
+     * Converts one merge-patch member to the attribute's type and checks it against the Task constraints.
+     */
+    private Object patchValue(String field, Object value) {
+        Object converted;
+        try {
+            converted = switch (field) {
+                case "title", "details", "label" -> (String) value;
+                case "dueDate" -> value == null ? null : LocalDate.parse((String) value);
+                case "importance" -> value == null ? null : Importance.valueOf((String) value);
+                case "urgency" -> value == null ? null : Urgency.valueOf((String) value);
+                default -> throw new IllegalArgumentException("Task field cannot be patched: " + field);
+            };
+        } catch (ClassCastException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid value for " + field + ": " + value, e);
+        }
+        if ("title".equals(field) && !StringUtils.hasText((String) converted)) {
+            throw new IllegalArgumentException("Task title cannot be null or empty.");
+        }
+        Set<ConstraintViolation<Task>> violations = validator.validateValue(Task.class, field, converted);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+        return converted;
+    }
+
+    /**
+     * Copies the updatable fields of taskDetails onto task, applying the same rules as {@link #updateTask}.
+     * @param task The task to modify.
+     * @param taskDetails The new values.
+     * @throws IllegalArgumentException if validation for title, importance, or urgency fails.
+     */
+    private void applyUpdate(Task task, Task taskDetails) {
         // Validate title if it's being updated
         if (taskDetails.getTitle() != null) {
             if (!StringUtils.hasText(taskDetails.getTitle())) {
@@ -152,20 +1087,141 @@ public class TaskService {
                 throw new IllegalArgumentException("Task urgency cannot be null.");
             }
         }
+    }
 
-        return taskRepository.save(task);
+    /**
+     * Updates many tasks in a single transaction.
+     * All referenced tasks are loaded with one query; each item is then validated like a single
+     * {@code PUT} and applied with the rules of {@link #updateTask}. Items without an id, for unknown
+     * tasks, or failing validation are reported and skipped. Changes are flushed as batched updates.
+     * @param tasks The new task states; each must carry the id of the task to update.
+     * @return The per-item outcome, in request order.
+     * @throws IllegalArgumentException if the batch is empty or larger than {@link #MAX_BATCH_SIZE}.
+     */
+    @Transactional
+    public BatchResult updateTasks(List<Task> tasks) {
+        validateBatchSize(tasks);
+        List<Long> ids = tasks.stream()
+                .filter(Objects::nonNull)
+                .map(Task::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<Long, Task> existing = new HashMap<>();
+        for (Task task : taskRepository.findAllById(ids)) {
+            existing.put(task.getId(), task);
+        }
+
+        List<BatchResult.ItemResult> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task taskDetails = tasks.get(i);
+            Long id = taskDetails == null ? null : taskDetails.getId();
+            if (id == null) {
+                results.add(BatchResult.ItemResult.failed(i, null, "Task id is required."));
+                continue;
+            }
+            Task task = existing.get(id);
+            if (task == null) {
+                results.add(BatchResult.ItemResult.failed(i, id, "Task not found with id: " + id));
+                continue;
+            }
+            Quadrant previousQuadrant = task.getQuadrant();
+            String previousLabel = task.getLabel();
+            try {
+                validateConstraints(taskDetails);
+                applyUpdate(task, taskDetails);
+            } catch (IllegalArgumentException e) {
+                results.add(BatchResult.ItemResult.failed(i, id, e.getMessage()));
+                continue;
+            }
+            results.add(BatchResult.ItemResult.succeeded(i, id));
+            eventPublisher.publishEvent(TaskChangedEvent.updated(task, previousQuadrant, previousLabel));
+        }
+        return BatchResult.of(results);
     }
 
     /**
-     * Deletes a task by its ID.
+     * Deletes many tasks in a single transaction.
+     * Existing ids are resolved with one query and removed with one bulk delete; unknown ids are
+     * reported as failures without affecting the others.
+     * @param ids The ids of the tasks to delete.
+     * @return The per-item outcome, in request order.
+     * @throws IllegalArgumentException if the batch is empty or larger than {@link #MAX_BATCH_SIZE}.
+     */
+    @Transactional
+    public BatchResult deleteTasks(List<Long> ids) {
+        validateBatchSize(ids);
+        Set<Long> found = new HashSet<>(taskRepository.findExistingIds(
+                ids.stream().filter(Objects::nonNull).collect(Collectors.toSet())));
+
+        List<BatchResult.ItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(BatchResult.ItemResult.failed(i, null, "Task id is required."));
+            } else if (found.contains(id)) {
+                results.add(BatchResult.ItemResult.succeeded(i, id));
+            } else {
+                results.add(BatchResult.ItemResult.failed(i, id, "Task not found with id: " + id));
+            }
+        }
+        if (!found.isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(found);
+            found.forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.deleted(id)));
+        }
+        return BatchResult.of(results);
+    }
+
+    private void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch cannot be empty.");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + MAX_BATCH_SIZE + " items.");
+        }
+    }
+
+    /**
+     * Applies the entity's bean validation constraints, which the REST layer normally enforces via {@code @Valid}.
+     */
+    private void validateConstraints(Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null.");
+        }
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    /**
+     * Deletes a task by its ID with a single DELETE statement.
      * If the task doesn't exist, throws a ResourceNotFoundException.
      * @param id The ID of the task to delete.
+     * @return The task as it was before the deletion.
      * @throws ResourceNotFoundException if the task with the given ID is not found.
      */
-    public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Task not found with id: " + id);
-        }
-        taskRepository.deleteById(id);
+    public Task deleteTask(Long id) {
+        // One DELETE; the row it returns tells whether the task existed.
+        Task deleted = taskRepository.removeById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id));
+        return deleted;
+    }
+
+    /**
+     * Returns the hit/miss statistics of the Task second-level cache region.
+     * @return The cache statistics.
+     */
+    public TaskCacheStats getCacheStats() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(TaskCacheConfig.TASK_REGION);
+        long size = region.getElementCountInMemory();
+        return new TaskCacheStats(region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                size == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? -1 : size);
     }
 }
@@ -1,9 +1,11 @@
 package com.example.taskmatrix;
 
 import org.springframework.data.jpa.domain.Specification;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class TaskSpecification {
@@ -32,25 +34,11 @@ public class TaskSpecification {
             }
 
             if (quadrant != null) {
-                // If quadrant is specified, derive importance and urgency from it
-                switch (quadrant) {
-                    case IMPORTANT_URGENT:
-                        predicates.add(criteriaBuilder.equal(root.get("importance"), Importance.IMPORTANT));
-                        predicates.add(criteriaBuilder.equal(root.get("urgency"), Urgency.URGENT));
-                        break;
-                    case IMPORTANT_NOT_URGENT:
-                        predicates.add(criteriaBuilder.equal(root.get("importance"), Importance.IMPORTANT));
-                        predicates.add(criteriaBuilder.equal(root.get("urgency"), Urgency.NOT_URGENT));
-                        break;
-                    case NOT_IMPORTANT_URGENT:
-                        predicates.add(criteriaBuilder.equal(root.get("importance"), Importance.NOT_IMPORTANT));
-                        predicates.add(criteriaBuilder.equal(root.get("urgency"), Urgency.URGENT));
-                        break;
-                    case NOT_IMPORTANT_NOT_URGENT:
-                        predicates.add(criteriaBuilder.equal(root.get("importance"), Importance.NOT_IMPORTANT));
-                        predicates.add(criteriaBuilder.equal(root.get("urgency"), Urgency.NOT_URGENT));
-                        break;
-                }
+                // If quadrant is specified, it overrides importance and urgency
+                predicates.add(criteriaBuilder.equal(root.get("quadrant"), quadrant));
+            } else if (importance != null && urgency != null) {
+                // Both together pin down a single quadrant, which has its own index
+                predicates.add(criteriaBuilder.equal(root.get("quadrant"), Quadrant.of(importance, urgency)));
             } else {
                 // If quadrant is not specified, use individual importance and urgency filters
                 if (importance != null) {
@@ -64,4 +52,51 @@ public class TaskSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Builds the keyset predicate selecting the rows that follow the given cursor.
+     * Rows are ordered by the cursor's sort field and then by id in the same direction.
+     * NULL sort values follow H2's default ordering (NULL sorts lowest), so they come first
+     * in ascending order and last in descending order.
+     * @param cursor The cursor marking the last row of the previous page.
+     * @return A specification matching only the rows after the cursor.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Task> after(TaskCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            boolean ascending = cursor.getDirection().isAscending();
+            Path<Long> id = root.get("id");
+            Predicate idAfter = ascending
+                    ? criteriaBuilder.greaterThan(id, cursor.getId())
+                    : criteriaBuilder.lessThan(id, cursor.getId());
+            if ("id".equals(cursor.getSortField())) {
+                return idAfter;
+            }
+
+            Path<Comparable> field = root.get(cursor.getSortField());
+            Comparable value = (Comparable) cursor.getValue();
+            if (value == null) {
+                Predicate sameKey = criteriaBuilder.and(criteriaBuilder.isNull(field), idAfter);
+                return ascending ? criteriaBuilder.or(sameKey, criteriaBuilder.isNotNull(field)) : sameKey;
+            }
+
+            Predicate beyond = ascending
+                    ? criteriaBuilder.greaterThan(field, value)
+                    : criteriaBuilder.lessThan(field, value);
+            Predicate sameKey = criteriaBuilder.and(criteriaBuilder.equal(field, value), idAfter);
+            Predicate next = criteriaBuilder.or(beyond, sameKey);
+            return ascending ? next : criteriaBuilder.or(next, criteriaBuilder.isNull(field));
+        };
+    }
+
+    /**
+     * Restricts results to the given task ids.
+     * @param ids The ids to match; an empty collection matches nothing.
+     * @return A specification matching only tasks whose id is in the collection.
+     */
+    public static Specification<Task> hasIdIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> ids.isEmpty()
+                ? criteriaBuilder.disjunction()
+                : root.get("id").in(ids);
+    }
 }
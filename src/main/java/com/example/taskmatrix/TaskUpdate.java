@@ -0,0 +1,9 @@
+package com.example.taskmatrix;
+
+/**
+ * An updated task together with the quadrant it was in before the update.
+ * @param task The task's new state.
+ * @param previousQuadrant The quadrant the task was in before the update.
+ */
+public record TaskUpdate(Task task, Quadrant previousQuadrant) {
+}
@@ -0,0 +1,96 @@
+package com.example.taskmatrix;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+/**
+ * Periodically promotes tasks to URGENT once their due date is within the escalation horizon.
+ * <p>
+ * The sweep runs as a series of set-based UPDATE statements of at most {@code chunk-size} rows each, without
+ * loading entities. Every chunk commits on its own, so row locks are held for one short statement and API writes
+ * to the same tasks only ever wait for a single chunk. Escalated tasks are published as updates, which keeps the
+ * query cache, the label index and the change feed in step.
+ */
+@Component
+public class UrgencyEscalator {
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Period horizon;
+    private final int chunkSize;
+    private final Timer runTimer;
+    private final Counter escalated;
+
+    /**
+     * Constructs an UrgencyEscalator.
+     * @param taskRepository The repository running the escalation statements.
+     * @param eventPublisher Publishes a {@link TaskChangedEvent} for every escalated task.
+     * @param enabled Whether the scheduled sweep runs.
+     * @param horizon Tasks due within this period from today (or overdue) are escalated.
+     * @param chunkSize Largest number of rows updated, and locked, by one statement.
+     * @param meterRegistry Registry for the run duration and escalated-row metrics.
+     */
+    @Autowired
+    public UrgencyEscalator(TaskRepository taskRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${taskmatrix.escalation.enabled:true}") boolean enabled,
+                            @Value("${taskmatrix.escalation.horizon:1d}") Period horizon,
+                            @Value("${taskmatrix.escalation.chunk-size:500}") int chunkSize,
+                            MeterRegistry meterRegistry) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Escalation chunk size must be positive.");
+        }
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.horizon = horizon;
+        this.chunkSize = chunkSize;
+        this.runTimer = Timer.builder("taskmatrix.escalation.run")
+                .description("Duration of urgency escalation sweeps")
+                .register(meterRegistry);
+        this.escalated = Counter.builder("taskmatrix.escalation.escalated")
+                .description("Tasks promoted to URGENT because their due date came within the horizon")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${taskmatrix.escalation.interval:15m}",
+               fixedDelayString = "${taskmatrix.escalation.interval:15m}")
+    public void scheduledEscalation() {
+        if (enabled) {
+            escalate(LocalDate.now());
+        }
+    }
+
+    /**
+     * Escalates every NOT_URGENT task due on or before {@code today} plus the horizon, chunk by chunk.
+     * @param today The date the horizon starts from.
+     * @return The number of tasks escalated.
+     */
+    public int escalate(LocalDate today) {
+        LocalDate dueBy = today.plus(horizon);
+        return runTimer.record(() -> {
+            int total = 0;
+            List<Task> chunk;
+            do {
+                chunk = taskRepository.escalateDueBy(dueBy, chunkSize);
+                // Escalation only changes urgency, so each task came from the not-urgent quadrant of its importance.
+                chunk.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.updated(
+                        task, Quadrant.of(task.getImportance(), Urgency.NOT_URGENT), task.getLabel())));
+                escalated.increment(chunk.size());
+                total += chunk.size();
+            } while (chunk.size() == chunkSize);
+            return total;
+        });
+    }
+}
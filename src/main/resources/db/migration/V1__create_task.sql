@@ -0,0 +1,13 @@
+-- Initial schema, matching what Hibernate generated for the Task entity.
+create sequence task_seq start with 1 increment by 50;
+
+create table task (
+    id bigint not null,
+    title varchar(255) not null,
+    details text,
+    label varchar(100),
+    due_date date,
+    importance varchar(255) not null check (importance in ('IMPORTANT', 'NOT_IMPORTANT')),
+    urgency varchar(255) not null check (urgency in ('URGENT', 'NOT_URGENT')),
+    primary key (id)
+);
@@ -0,0 +1,14 @@
+-- Indexes for the filters and sort orders of TaskSpecification / TaskService.
+
+-- Quadrant and importance filters (importance alone uses the prefix), ordered by due date.
+create index idx_task_importance_urgency_due_date on task (importance, urgency, due_date);
+
+-- Urgency filter without importance, ordered by due date.
+create index idx_task_urgency_due_date on task (urgency, due_date);
+
+-- Due-date windows (dueDateBefore / dueDateAfter) and sorting by due date.
+create index idx_task_due_date on task (due_date);
+
+-- Sorting and keyset paging by title and by label.
+create index idx_task_title on task (title);
+create index idx_task_label on task (label);
@@ -0,0 +1,20 @@
+-- Persist the quadrant derived from importance and urgency (kept in sync by Task on every write).
+alter table task add column quadrant varchar(255);
+
+update task set quadrant = case
+    when importance = 'IMPORTANT' and urgency = 'URGENT' then 'IMPORTANT_URGENT'
+    when importance = 'IMPORTANT' and urgency = 'NOT_URGENT' then 'IMPORTANT_NOT_URGENT'
+    when importance = 'NOT_IMPORTANT' and urgency = 'URGENT' then 'NOT_IMPORTANT_URGENT'
+    else 'NOT_IMPORTANT_NOT_URGENT'
+end;
+
+alter table task alter column quadrant set not null;
+alter table task add constraint ck_task_quadrant check (quadrant in
+    ('IMPORTANT_URGENT', 'IMPORTANT_NOT_URGENT', 'NOT_IMPORTANT_URGENT', 'NOT_IMPORTANT_NOT_URGENT'));
+
+-- Quadrant filters (and importance + urgency together) ordered by due date, and grouping by quadrant.
+create index idx_task_quadrant_due_date on task (quadrant, due_date);
+
+-- Importance alone no longer needs urgency in its index; quadrant covers the pair.
+drop index idx_task_importance_urgency_due_date;
+create index idx_task_importance_due_date on task (importance, due_date);
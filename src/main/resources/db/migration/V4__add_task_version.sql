@@ -0,0 +1,2 @@
+-- Optimistic locking: Hibernate increments the version on every update and checks it in the WHERE clause.
+alter table task add column version bigint default 0 not null;
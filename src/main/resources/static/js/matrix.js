@@ -0,0 +1,26 @@
+// Submits board writes (forms marked data-matrix-write) in the background. The server answers with
+// only the quadrants the write touched, rendered for this page's filters, and those are swapped in place.
+document.addEventListener('submit', async (event) => {
+    const form = event.target;
+    if (event.defaultPrevented || !form.matches('form[data-matrix-write]')) {
+        return;
+    }
+    event.preventDefault();
+    const response = await fetch(form.action, {
+        method: 'POST',
+        body: new URLSearchParams(new FormData(form)),
+        headers: {'X-Matrix-View': window.location.search.substring(1)}
+    });
+    if (!response.ok) {
+        window.location.reload();
+        return;
+    }
+    const template = document.createElement('template');
+    template.innerHTML = await response.text();
+    template.content.querySelectorAll('[id^="quadrant-"]').forEach((quadrant) => {
+        const current = document.getElementById(quadrant.id);
+        if (current) {
+            current.replaceWith(quadrant);
+        }
+    });
+});
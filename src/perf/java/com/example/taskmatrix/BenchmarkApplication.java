@@ -0,0 +1,53 @@
+package com.example.taskmatrix;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the application on a private in-memory database seeded by {@link TaskDataSeeder}.
+ * The query result cache is disabled so benchmarks measure the queries themselves.
+ */
+final class BenchmarkApplication {
+
+    static final LocalDate TODAY = LocalDate.of(2025, 1, 15);
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application without a web server.
+     */
+    static ConfigurableApplicationContext start(int rows) {
+        return start(rows, WebApplicationType.NONE);
+    }
+
+    /**
+     * Starts the application, optionally with a web server on a random port.
+     * @param args Extra {@code --name=value} properties.
+     */
+    static ConfigurableApplicationContext start(int rows, WebApplicationType type, String... args) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--taskmatrix.query-cache.max-entries=0"));
+        arguments.addAll(List.of(args));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmatrixApplication.class)
+                .web(type)
+                // Command-line arguments, so they win over application.properties.
+                .run(arguments.toArray(String[]::new));
+        TaskDataSeeder.seed(context.getBean(JdbcTemplate.class), rows, 42L, TODAY);
+        // Seeding bypasses TaskService, so the label index and column store have to catch up.
+        context.getBean(LabelTrigramIndex.class).rebuild();
+        context.getBean(TaskColumnStore.class).rebuild();
+        return context;
+    }
+}
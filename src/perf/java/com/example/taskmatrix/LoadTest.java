@@ -0,0 +1,286 @@
+package com.example.taskmatrix;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local load generator: starts the application in-process, seeds the in-memory database with
+ * {@link TaskDataSeeder} and drives a mixed read/write workload at a fixed target rate.
+ * Requests are issued on a fixed schedule whether or not earlier ones have completed (an open model),
+ * and latency is measured from each request's scheduled start, so a server that falls behind shows up
+ * as higher latency instead of a silently lower request rate.
+ * Per-endpoint throughput and p50/p95/p99 latency are printed and written as JSON.
+ *
+ * Run with: mvn -Pperf test-compile exec:exec@load-test -Dload.args="--rows=100000 --rate=200 --duration=60"
+ *
+ * Options (all optional):
+ * --rows=N        tasks to seed (default 100000)
+ * --rate=N        requests per second (default 200)
+ * --duration=N    measured seconds (default 60)
+ * --warmup=N      seconds of traffic before measuring starts (default 10)
+ * --writes=P      percentage of requests that create or update tasks (default 10)
+ * --seed=N        seed for the dataset and the request mix (default 42)
+ * --report=PATH   JSON report file (default target/load-test-report.json)
+ */
+public final class LoadTest {
+
+    private static final String LIST = "GET /api/tasks";
+    private static final String GET_BY_ID = "GET /api/tasks/{id}";
+    private static final String MATRIX = "GET /";
+    private static final String CREATE = "POST /api/tasks";
+    private static final String UPDATE = "PUT /api/tasks/{id}";
+
+    private final Map<String, String> options;
+    private final int rows;
+    private final int rate;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final int writePercent;
+    private final long seed;
+
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    private HttpClient client;
+    private String baseUrl;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.rows = intOption("rows", 100_000);
+        this.rate = intOption("rate", 200);
+        this.durationSeconds = intOption("duration", 60);
+        this.warmupSeconds = intOption("warmup", 10);
+        this.writePercent = intOption("writes", 10);
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmatrixApplication.class)
+                .run("--server.port=0", "--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(64);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            System.out.printf("Seeding %,d tasks...%n", rows);
+            TaskDataSeeder.seed(context.getBean(JdbcTemplate.class), rows, seed, LocalDate.now());
+            context.getBean(LabelTrigramIndex.class).rebuild();
+            context.getBean(TaskColumnStore.class).rebuild();
+
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            client = HttpClient.newBuilder()
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            System.out.printf("Driving %d req/s against %s: %ds warmup, %ds measured, %d%% writes%n",
+                    rate, baseUrl, warmupSeconds, durationSeconds, writePercent);
+            Random mix = new Random(seed);
+            long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+            long start = System.nanoTime();
+            long measureStart = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long end = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+            AtomicLong tick = new AtomicLong();
+            scheduler.scheduleAtFixedRate(() -> {
+                long scheduledAt = start + tick.getAndIncrement() * periodNanos;
+                send(nextRequest(mix), scheduledAt, scheduledAt >= measureStart);
+            }, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+            TimeUnit.NANOSECONDS.sleep(end - System.nanoTime());
+            scheduler.shutdownNow();
+            long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            report();
+        } finally {
+            scheduler.shutdownNow();
+            clientExecutor.shutdownNow();
+            context.close();
+        }
+    }
+
+    private Request nextRequest(Random mix) {
+        int roll = mix.nextInt(100);
+        if (roll < writePercent / 2) {
+            return new Request(CREATE, post("/api/tasks", taskJson(mix)));
+        } else if (roll < writePercent) {
+            long id = 1 + mix.nextInt(rows);
+            return new Request(UPDATE, put("/api/tasks/" + id, taskJson(mix)));
+        }
+        int read = mix.nextInt(100);
+        if (read < 50) {
+            return new Request(GET_BY_ID, get("/api/tasks/" + (1 + mix.nextInt(rows))));
+        } else if (read < 85) {
+            return new Request(LIST, get("/api/tasks?" + listQuery(mix)));
+        }
+        return new Request(MATRIX, get("/?" + matrixQuery(mix)));
+    }
+
+    private String listQuery(Random mix) {
+        LocalDate today = LocalDate.now();
+        switch (mix.nextInt(4)) {
+            case 0:
+                return "quadrant=" + Quadrant.values()[mix.nextInt(4)] + "&sortBy=dueDate&limit=50";
+            case 1:
+                return "dueDateAfter=" + today + "&dueDateBefore=" + today.plusDays(7) + "&sortBy=dueDate&limit=50";
+            case 2:
+                return "label=" + List.of("work", "home", "finance", "car").get(mix.nextInt(4)) + "&limit=50";
+            default:
+                return "urgency=URGENT&sortBy=title&sortDir=desc&limit=50";
+        }
+    }
+
+    private String matrixQuery(Random mix) {
+        return mix.nextBoolean() ? "" : "dueDateBefore=" + LocalDate.now().plusDays(14);
+    }
+
+    private String taskJson(Random mix) {
+        return String.format("{\"title\":\"Load test task %d\",\"label\":\"%s\",\"dueDate\":\"%s\","
+                        + "\"importance\":\"%s\",\"urgency\":\"%s\"}",
+                mix.nextInt(1_000_000),
+                List.of("work", "home", "errands").get(mix.nextInt(3)),
+                LocalDate.now().plusDays(mix.nextInt(60)),
+                Importance.values()[mix.nextInt(2)],
+                Urgency.values()[mix.nextInt(2)]);
+    }
+
+    private void send(Request request, long scheduledAt, boolean record) {
+        inFlight.incrementAndGet();
+        client.sendAsync(request.httpRequest(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    inFlight.decrementAndGet();
+                    if (!record) {
+                        return;
+                    }
+                    long latency = System.nanoTime() - scheduledAt;
+                    boolean failed = error != null || response.statusCode() >= 400;
+                    recorders.computeIfAbsent(request.endpoint(), k -> new LatencyRecorder()).record(latency, failed);
+                });
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest put(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private void report() throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%n%-22s %9s %7s %10s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        for (String endpoint : List.of(LIST, GET_BY_ID, MATRIX, CREATE, UPDATE)) {
+            LatencyRecorder recorder = recorders.get(endpoint);
+            if (recorder == null) {
+                continue;
+            }
+            Map<String, Object> stats = recorder.summary(durationSeconds);
+            endpoints.put(endpoint, stats);
+            System.out.printf("%-22s %9d %7d %10.1f %9.2f %9.2f %9.2f%n", endpoint,
+                    stats.get("requests"), stats.get("errors"), stats.get("throughput"),
+                    stats.get("p50Ms"), stats.get("p95Ms"), stats.get("p99Ms"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rows", rows);
+        report.put("targetRate", rate);
+        report.put("durationSeconds", durationSeconds);
+        report.put("writePercent", writePercent);
+        report.put("seed", seed);
+        report.put("endpoints", endpoints);
+        File file = new File(options.getOrDefault("report", "target/load-test-report.json"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private record Request(String endpoint, HttpRequest httpRequest) {
+    }
+
+    /** Collects the latencies of one endpoint. */
+    private static final class LatencyRecorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void record(long latencyNanos, boolean failed) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized Map<String, Object> summary(int durationSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", count);
+            stats.put("errors", errors);
+            stats.put("throughput", (double) count / durationSeconds);
+            stats.put("p50Ms", percentileMillis(sorted, 50));
+            stats.put("p95Ms", percentileMillis(sorted, 95));
+            stats.put("p99Ms", percentileMillis(sorted, 99));
+            stats.put("maxMs", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+            return stats;
+        }
+
+        private static double percentileMillis(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            // Nearest-rank percentile.
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.taskmatrix;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binning tasks into quadrants with {@link Task#getQuadrant()}, the way the matrix page did
+ * before it queried each quadrant separately, compared with grouping into an {@link EnumMap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuadrantBinningBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Task " + i);
+            task.setImportance(Importance.values()[random.nextInt(Importance.values().length)]);
+            task.setUrgency(Urgency.values()[random.nextInt(Urgency.values().length)]);
+            tasks.add(task);
+        }
+    }
+
+    /** Four lists filled by a switch on the quadrant, as PageController did. */
+    @Benchmark
+    public List<List<Task>> switchIntoLists() {
+        List<Task> importantUrgentTasks = new ArrayList<>();
+        List<Task> importantNotUrgentTasks = new ArrayList<>();
+        List<Task> notImportantUrgentTasks = new ArrayList<>();
+        List<Task> notImportantNotUrgentTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            Quadrant q = task.getQuadrant();
+            if (q != null) {
+                switch (q) {
+                    case IMPORTANT_URGENT:
+                        importantUrgentTasks.add(task);
+                        break;
+                    case IMPORTANT_NOT_URGENT:
+                        importantNotUrgentTasks.add(task);
+                        break;
+                    case NOT_IMPORTANT_URGENT:
+                        notImportantUrgentTasks.add(task);
+                        break;
+                    case NOT_IMPORTANT_NOT_URGENT:
+                        notImportantNotUrgentTasks.add(task);
+                        break;
+                }
+            }
+        }
+        return List.of(importantUrgentTasks, importantNotUrgentTasks, notImportantUrgentTasks, notImportantNotUrgentTasks);
+    }
+
+    @Benchmark
+    public Map<Quadrant, List<Task>> groupIntoEnumMap() {
+        Map<Quadrant, List<Task>> bins = new EnumMap<>(Quadrant.class);
+        for (Quadrant quadrant : Quadrant.values()) {
+            bins.put(quadrant, new ArrayList<>());
+        }
+        for (Task task : tasks) {
+            Quadrant q = task.getQuadrant();
+            if (q != null) {
+                bins.get(q).add(task);
+            }
+        }
+        return bins;
+    }
+}
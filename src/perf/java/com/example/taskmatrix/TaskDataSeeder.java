@@ -0,0 +1,90 @@
+package com.example.taskmatrix;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the task table with a reproducible, realistically shaped dataset for benchmarks and load tests.
+ * Labels follow a skewed distribution (a few labels dominate, some tasks have none), due dates spread
+ * from a month in the past to four months ahead (some tasks have none), and the quadrants are skewed
+ * towards important-but-not-urgent work. The same seed always produces the same rows.
+ */
+public final class TaskDataSeeder {
+
+    private static final int CHUNK = 10_000;
+
+    private static final String[] LABELS = {
+            "work", "personal", "home", "errands", "finance", "health", "study", "travel", "garden", "car"};
+    private static final String[] WORDS = {
+            "Review", "Plan", "Call", "Write", "Fix", "Book", "Pay", "Prepare", "Clean", "Order"};
+
+    private TaskDataSeeder() {
+    }
+
+    /**
+     * Inserts tasks with ids 1..rows and moves the id sequence past them.
+     * @param jdbcTemplate Template for the application's data source; the table must be empty.
+     * @param rows Number of tasks to insert.
+     * @param seed Seed of the random generator.
+     * @param today The date due dates are spread around.
+     */
+    public static void seed(JdbcTemplate jdbcTemplate, int rows, long seed, LocalDate today) {
+        Random random = new Random(seed);
+        List<Object[]> chunk = new ArrayList<>(CHUNK);
+        for (int id = 1; id <= rows; id++) {
+            chunk.add(row(id, random, today));
+            if (chunk.size() == CHUNK || id == rows) {
+                jdbcTemplate.batchUpdate("insert into task (id, title, details, label, due_date, importance, urgency, quadrant)"
+                        + " values (?, ?, ?, ?, ?, ?, ?, ?)", chunk);
+                chunk.clear();
+            }
+        }
+        // Leave room for the ids Hibernate's pooled optimizer hands out from the current block.
+        jdbcTemplate.execute("alter sequence task_seq restart with " + (rows + 100));
+        jdbcTemplate.execute("analyze");
+    }
+
+    private static Object[] row(int id, Random random, LocalDate today) {
+        Quadrant quadrant = quadrant(random);
+        Importance importance = quadrant == Quadrant.IMPORTANT_URGENT || quadrant == Quadrant.IMPORTANT_NOT_URGENT
+                ? Importance.IMPORTANT : Importance.NOT_IMPORTANT;
+        Urgency urgency = quadrant == Quadrant.IMPORTANT_URGENT || quadrant == Quadrant.NOT_IMPORTANT_URGENT
+                ? Urgency.URGENT : Urgency.NOT_URGENT;
+        String title = WORDS[random.nextInt(WORDS.length)] + " item " + id;
+        String details = random.nextInt(4) == 0 ? "Notes for " + title.toLowerCase() : null;
+        return new Object[]{(long) id, title, details, label(random), dueDate(random, today),
+                importance.name(), urgency.name(), quadrant.name()};
+    }
+
+    private static Quadrant quadrant(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 15) {
+            return Quadrant.IMPORTANT_URGENT;
+        } else if (roll < 50) {
+            return Quadrant.IMPORTANT_NOT_URGENT;
+        } else if (roll < 70) {
+            return Quadrant.NOT_IMPORTANT_URGENT;
+        }
+        return Quadrant.NOT_IMPORTANT_NOT_URGENT;
+    }
+
+    private static String label(Random random) {
+        if (random.nextInt(10) == 0) {
+            return null;
+        }
+        // Squaring a uniform value favours the first labels: "work" is far more common than "car".
+        double skewed = random.nextDouble() * random.nextDouble();
+        return LABELS[(int) (skewed * LABELS.length)];
+    }
+
+    private static LocalDate dueDate(Random random, LocalDate today) {
+        if (random.nextInt(5) == 0) {
+            return null;
+        }
+        return today.plusDays(random.nextInt(150) - 30);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.taskmatrix;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of task lists, as a JSON array (GET /api/tasks) and as NDJSON (GET /api/tasks/export).
+ * The mapper is configured like the one Spring Boot provides to the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter taskWriter;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        taskWriter = objectMapper.writerFor(Task.class);
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Prepare quarterly report " + i);
+            task.setDetails(i % 4 == 0 ? "Collect the numbers from finance and draft the summary." : null);
+            task.setLabel(i % 10 == 0 ? null : "work");
+            task.setDueDate(LocalDate.of(2025, 1, 1).plusDays(i % 120));
+            task.setImportance(i % 2 == 0 ? Importance.IMPORTANT : Importance.NOT_IMPORTANT);
+            task.setUrgency(i % 3 == 0 ? Urgency.URGENT : Urgency.NOT_URGENT);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public byte[] jsonArray() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] ndjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Task task : tasks) {
+            out.write(taskWriter.writeValueAsBytes(task));
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+}
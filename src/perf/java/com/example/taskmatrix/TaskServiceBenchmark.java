@@ -0,0 +1,78 @@
+package com.example.taskmatrix;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService#getAllTasks} against seeded datasets of increasing size.
+ * The queries are the typical ones of the matrix page and the REST API; an unfiltered listing is left out
+ * because at a million rows it measures entity materialization rather than the query.
+ * Each query runs both against the database and against the {@link TaskColumnStore}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class TaskServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"quadrantByDueDate", "dueDateWindow", "label", "urgentByTitle"})
+    public String query;
+
+    @Param({"false", "true"})
+    public boolean columnar;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(rows, WebApplicationType.NONE, "--taskmatrix.columnar.enabled=" + columnar);
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> getAllTasks() {
+        switch (query) {
+            case "quadrantByDueDate":
+                return taskService.getAllTasks(null, BenchmarkApplication.TODAY.plusDays(7), BenchmarkApplication.TODAY,
+                        null, null, Quadrant.IMPORTANT_URGENT, "dueDate", "asc");
+            case "dueDateWindow":
+                return taskService.getAllTasks(null, BenchmarkApplication.TODAY, BenchmarkApplication.TODAY,
+                        null, null, null, "id", "asc");
+            case "label":
+                return taskService.getAllTasks("car", BenchmarkApplication.TODAY.plusDays(7), BenchmarkApplication.TODAY,
+                        null, null, null, "id", "asc");
+            case "urgentByTitle":
+                return taskService.getAllTasks(null, BenchmarkApplication.TODAY.plusDays(3), BenchmarkApplication.TODAY,
+                        null, Urgency.URGENT, null, "title", "desc");
+            default:
+                throw new IllegalArgumentException("Unknown query: " + query);
+        }
+    }
+}
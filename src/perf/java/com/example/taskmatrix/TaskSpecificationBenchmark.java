@@ -0,0 +1,101 @@
+package com.example.taskmatrix;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and executing {@link TaskSpecification#getTasksByCriteria} for each filter combination.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class TaskSpecificationBenchmark {
+
+    @Param({"none", "label", "dueDateWindow", "importance", "urgency", "importanceAndUrgency", "quadrant", "all"})
+    public String filter;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(rows);
+        taskRepository = context.getBean(TaskRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Builds the specification and turns it into a criteria query, without running it. */
+    @Benchmark
+    public CriteriaQuery<Task> build() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        query.where(specification().toPredicate(root, query, cb));
+        return query;
+    }
+
+    /** Builds and runs the specification against the seeded database. */
+    @Benchmark
+    public List<Task> execute() {
+        return taskRepository.findAll(specification());
+    }
+
+    private Specification<Task> specification() {
+        switch (filter) {
+            case "none":
+                return TaskSpecification.getTasksByCriteria(null, null, null, null, null, null);
+            case "label":
+                return TaskSpecification.getTasksByCriteria("car", null, null, null, null, null);
+            case "dueDateWindow":
+                return TaskSpecification.getTasksByCriteria(
+                        null, BenchmarkApplication.TODAY.plusDays(7), BenchmarkApplication.TODAY, null, null, null);
+            case "importance":
+                return TaskSpecification.getTasksByCriteria(null, null, null, Importance.IMPORTANT, null, null);
+            case "urgency":
+                return TaskSpecification.getTasksByCriteria(null, null, null, null, Urgency.URGENT, null);
+            case "importanceAndUrgency":
+                return TaskSpecification.getTasksByCriteria(
+                        null, null, null, Importance.IMPORTANT, Urgency.URGENT, null);
+            case "quadrant":
+                return TaskSpecification.getTasksByCriteria(
+                        null, null, null, null, null, Quadrant.IMPORTANT_URGENT);
+            case "all":
+                return TaskSpecification.getTasksByCriteria("work", BenchmarkApplication.TODAY.plusDays(30),
+                        BenchmarkApplication.TODAY, null, null, Quadrant.IMPORTANT_NOT_URGENT);
+            default:
+                throw new IllegalArgumentException("Unknown filter: " + filter);
+        }
+    }
+}
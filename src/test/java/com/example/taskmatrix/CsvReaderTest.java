@@ -0,0 +1,66 @@
+package com.example.taskmatrix;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvReaderTest {
+
+    private static List<List<String>> readAll(CsvReader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv), 1000);
+    }
+
+    @Test
+    void next_readsPlainAndQuotedFields() throws IOException {
+        CsvReader reader = reader("title,details\r\n\"Call, then write\",\"Say \"\"hi\"\"\"\r\nPlain,\n");
+
+        assertEquals(List.of(
+                List.of("title", "details"),
+                List.of("Call, then write", "Say \"hi\""),
+                List.of("Plain", "")), readAll(reader));
+    }
+
+    @Test
+    void recordLine_countsLineBreaksInsideQuotedFields() throws IOException {
+        CsvReader reader = reader("\uFEFFtitle\n\"two\r\nlines\"\n\nafter\rlast");
+
+        assertEquals(List.of("title"), reader.next());
+        assertEquals(1, reader.recordLine());
+        assertEquals(List.of("two\r\nlines"), reader.next());
+        assertEquals(2, reader.recordLine());
+        assertEquals(List.of("after"), reader.next());
+        assertEquals(5, reader.recordLine());
+        assertEquals(List.of("last"), reader.next());
+        assertEquals(6, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_unclosedQuote_throwsWithRecordLine() throws IOException {
+        CsvReader reader = reader("title\n\"never closed\nstill open");
+
+        reader.next();
+        CsvReader.CsvFormatException e = assertThrows(CsvReader.CsvFormatException.class, reader::next);
+        assertEquals(2, e.getLine());
+    }
+
+    @Test
+    void next_recordLongerThanLimit_throws() {
+        CsvReader reader = new CsvReader(new StringReader("a".repeat(20)), 10);
+
+        assertThrows(CsvReader.CsvFormatException.class, reader::next);
+    }
+}
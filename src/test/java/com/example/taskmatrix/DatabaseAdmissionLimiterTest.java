@@ -0,0 +1,137 @@
+package com.example.taskmatrix;
+
+import com.example.taskmatrix.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DatabaseAdmissionLimiterTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void admit_withFreePermit_proceedsAndReleasesPermit() throws Throwable {
+        DatabaseAdmissionLimiter limiter = new DatabaseAdmissionLimiter(3, 1, Duration.ofSeconds(1), meterRegistry);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        assertEquals("result", limiter.admit(joinPoint));
+        assertEquals(2, limiter.availablePermits());
+    }
+
+    @Test
+    void admit_whenCallFails_stillReleasesPermit() throws Throwable {
+        DatabaseAdmissionLimiter limiter = new DatabaseAdmissionLimiter(2, 1, Duration.ofSeconds(1), meterRegistry);
+        when(joinPoint.proceed()).thenThrow(new IllegalArgumentException("bad"));
+
+        assertThrows(IllegalArgumentException.class, () -> limiter.admit(joinPoint));
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    @Test
+    void admit_whenAllPermitsHeldPastTimeout_rejectsWithDatabaseBusy() throws Throwable {
+        DatabaseAdmissionLimiter limiter = new DatabaseAdmissionLimiter(2, 1, Duration.ofMillis(50), meterRegistry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slowCall = mock(ProceedingJoinPoint.class);
+        when(slowCall.proceed()).thenAnswer(invocation -> {
+            holding.countDown();
+            release.await();
+            return null;
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> holder = executor.submit(() -> {
+                try {
+                    return limiter.admit(slowCall);
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            assertThrows(DatabaseBusyException.class, () -> limiter.admit(joinPoint));
+            verify(joinPoint, never()).proceed();
+            assertEquals(1.0, meterRegistry.get("taskmatrix.db.admission.rejected").tag("lane", "point").counter().count());
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+            assertEquals(1, limiter.availablePermits());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void admit_longRunningExport_doesNotStarvePointReads() throws Exception {
+        DatabaseAdmissionLimiter limiter = new DatabaseAdmissionLimiter(2, 1, Duration.ofMillis(50), meterRegistry);
+        TaskService target = mock(TaskService.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(limiter);
+        TaskService taskService = factory.getProxy();
+        Task task = new Task();
+        when(target.getTaskById(1L)).thenReturn(Optional.of(task));
+        doAnswer(invocation -> {
+            invocation.<Consumer<Task>>getArgument(8).accept(task);
+            return null;
+        }).when(target).streamTasks(any(), any(), any(), any(), any(), any(), any(), any(), any());
+
+        CountDownLatch exporting = new CountDownLatch(1);
+        CountDownLatch clientDone = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> export = executor.submit(() -> taskService.streamTasks(
+                    null, null, null, null, null, null, null, null, t -> {
+                        exporting.countDown();
+                        try {
+                            clientDone.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }));
+            assertTrue(exporting.await(5, TimeUnit.SECONDS));
+            assertEquals(0, limiter.availableBulkPermits());
+            assertEquals(1, limiter.availablePermits());
+
+            assertEquals(Optional.of(task), taskService.getTaskById(1L));
+            assertEquals(Optional.of(task), taskService.getTaskById(1L));
+            assertThrows(DatabaseBusyException.class,
+                    () -> taskService.importTasks(new StringReader("title,importance,urgency\n")));
+
+            clientDone.countDown();
+            export.get(5, TimeUnit.SECONDS);
+            assertEquals(1, limiter.availableBulkPermits());
+            assertEquals(1, limiter.availablePermits());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_bulkLaneMustLeaveRoomForOtherCalls() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DatabaseAdmissionLimiter(2, 2, Duration.ofSeconds(1), meterRegistry));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.taskmatrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class LabelTrigramIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private LabelTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LabelTrigramIndex(taskRepository, 2);
+        when(taskRepository.streamLabels()).thenReturn(Stream.of(
+                label(1L, "Work"),
+                label(2L, "Homework"),
+                label(3L, "Personal")));
+        index.rebuild();
+    }
+
+    private static TaskRepository.TaskLabel label(Long id, String label) {
+        return new TaskRepository.TaskLabel() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getLabel() {
+                return label;
+            }
+        };
+    }
+
+    private static Task task(Long id, String label) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setLabel(label);
+        return task;
+    }
+
+    @Test
+    void findIdsContaining_matchesSubstringIgnoringCase() {
+        assertEquals(Optional.of(Set.of(1L, 2L)), index.findIdsContaining("WORK"));
+        assertEquals(Optional.of(Set.of(2L)), index.findIdsContaining("mewo"));
+        assertEquals(Optional.of(Set.of()), index.findIdsContaining("xyz"));
+    }
+
+    @Test
+    void findIdsContaining_shortTermScansLabels() {
+        assertEquals(Optional.of(Set.of(3L)), index.findIdsContaining("al"));
+    }
+
+    @Test
+    void findIdsContaining_likeWildcards_fallsBackToSql() {
+        assertEquals(Optional.empty(), index.findIdsContaining("wo%k"));
+        assertEquals(Optional.empty(), index.findIdsContaining("w_rk"));
+    }
+
+    @Test
+    void findIdsContaining_tooManyMatches_fallsBackToSql() {
+        index.onTaskChanged(TaskChangedEvent.created(task(4L, "Network")));
+        assertEquals(Optional.empty(), index.findIdsContaining("work"));
+    }
+
+    @Test
+    void onTaskChanged_keepsIndexInSyncWithUpdatesAndDeletes() {
+        index.onTaskChanged(TaskChangedEvent.updated(task(1L, "Errands"), null, "Work"));
+        index.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        assertEquals(Optional.of(Set.of()), index.findIdsContaining("work"));
+        assertEquals(Optional.of(Set.of(1L)), index.findIdsContaining("rrand"));
+    }
+
+    @Test
+    void findIdsContaining_beforeRebuild_fallsBackToSql() {
+        LabelTrigramIndex fresh = new LabelTrigramIndex(taskRepository, 10);
+        assertFalse(fresh.isReady());
+        assertEquals(Optional.empty(), fresh.findIdsContaining("work"));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.taskmatrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PageController.class)
+public class PageControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskService taskService;
+
+    @MockBean
+    private TaskMatrixService taskMatrixService;
+
+    private Task urgentTask;
+
+    @BeforeEach
+    void setUp() {
+        urgentTask = new Task();
+        urgentTask.setId(1L);
+        urgentTask.setTitle("Urgent task");
+        urgentTask.setImportance(Importance.IMPORTANT);
+        urgentTask.setUrgency(Urgency.URGENT);
+        urgentTask.updateQuadrant();
+
+        given(taskMatrixService.getQuadrants(anySet(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .willAnswer(invocation -> matrix(invocation.getArgument(0)));
+    }
+
+    private TaskMatrix matrix(Set<Quadrant> quadrants) {
+        Map<Quadrant, TaskPage> pages = new EnumMap<>(Quadrant.class);
+        for (Quadrant q : Quadrant.values()) {
+            pages.put(q, quadrants.contains(q) && q == Quadrant.IMPORTANT_URGENT
+                    ? new TaskPage(List.of(urgentTask), null)
+                    : new TaskPage(List.of(), null));
+        }
+        return new TaskMatrix(pages, Map.of(Quadrant.IMPORTANT_URGENT, 1L), 25);
+    }
+
+    @Test
+    void getIndexPage_rendersAllFourQuadrants() throws Exception {
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("id=\"quadrant-IMPORTANT_URGENT\"")))
+                .andExpect(content().string(containsString("id=\"quadrant-NOT_IMPORTANT_NOT_URGENT\"")))
+                .andExpect(content().string(containsString("card-header bg-danger text-white")))
+                .andExpect(content().string(containsString("<span>Important &amp; Urgent</span> <span class=\"badge bg-light text-dark\">1</span>")))
+                .andExpect(content().string(containsString("Urgent task")));
+
+        verify(taskMatrixService).getQuadrants(EnumSet.allOf(Quadrant.class), null, null, null, null, null, null, "id", "asc", null);
+    }
+
+    @Test
+    void getQuadrantFragment_rendersOnlyThatQuadrantWithFilters() throws Exception {
+        mockMvc.perform(get("/tasks/quadrants/IMPORTANT_URGENT?label=work&sortBy=dueDate"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("id=\"quadrant-IMPORTANT_URGENT\"")))
+                .andExpect(content().string(not(containsString("quadrant-IMPORTANT_NOT_URGENT"))))
+                .andExpect(content().string(not(containsString("<html"))));
+
+        verify(taskMatrixService).getQuadrants(EnumSet.of(Quadrant.IMPORTANT_URGENT),
+                "work", null, null, null, null, null, "dueDate", "asc", null);
+    }
+
+    @Test
+    void deleteTask_withoutViewHeader_redirectsToPage() throws Exception {
+        given(taskService.deleteTask(1L)).willReturn(urgentTask);
+
+        mockMvc.perform(post("/tasks/delete/1"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/"));
+
+        verify(taskService).deleteTask(1L);
+        verify(taskMatrixService, never()).getQuadrants(anySet(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void deleteTask_withViewHeader_rendersOnlyAffectedQuadrantForPageFilters() throws Exception {
+        given(taskService.deleteTask(1L)).willReturn(urgentTask);
+
+        mockMvc.perform(post("/tasks/delete/1")
+                        .header(PageController.VIEW_HEADER, "label=my%20work&dueDateAfter=2025-01-01&importance=&sortDir=desc&limit=10"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("id=\"quadrant-IMPORTANT_URGENT\"")))
+                .andExpect(content().string(not(containsString("quadrant-NOT_IMPORTANT_URGENT"))));
+
+        verify(taskService, never()).getTaskById(any());
+        verify(taskMatrixService).getQuadrants(EnumSet.of(Quadrant.IMPORTANT_URGENT),
+                "my work", null, LocalDate.of(2025, 1, 1), null, null, null, "id", "desc", 10);
+    }
+
+    @Test
+    void updateTask_withViewHeader_rendersPreviousAndNewQuadrant() throws Exception {
+        Task moved = new Task();
+        moved.setId(1L);
+        moved.setTitle("Urgent task");
+        moved.setImportance(Importance.NOT_IMPORTANT);
+        moved.setUrgency(Urgency.NOT_URGENT);
+        moved.updateQuadrant();
+        given(taskService.updateTaskWithPreviousQuadrant(eq(1L), any(Task.class)))
+                .willReturn(new TaskUpdate(moved, Quadrant.IMPORTANT_URGENT));
+
+        mockMvc.perform(post("/tasks/update/1")
+                        .header(PageController.VIEW_HEADER, "")
+                        .param("title", "Urgent task")
+                        .param("importance", "NOT_IMPORTANT")
+                        .param("urgency", "NOT_URGENT"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("id=\"quadrant-IMPORTANT_URGENT\"")))
+                .andExpect(content().string(containsString("id=\"quadrant-NOT_IMPORTANT_NOT_URGENT\"")))
+                .andExpect(content().string(not(containsString("quadrant-IMPORTANT_NOT_URGENT"))));
+
+        verify(taskService, never()).getTaskById(any());
+        verify(taskMatrixService).getQuadrants(EnumSet.of(Quadrant.IMPORTANT_URGENT, Quadrant.NOT_IMPORTANT_NOT_URGENT),
+                null, null, null, null, null, null, "id", "asc", null);
+    }
+}
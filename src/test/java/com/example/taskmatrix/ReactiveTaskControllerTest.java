@@ -0,0 +1,121 @@
+package com.example.taskmatrix;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveTaskController.class)
+public class ReactiveTaskControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveTaskService reactiveTaskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Task sampleTask1;
+    private Task sampleTask2;
+
+    @BeforeEach
+    void setUp() {
+        sampleTask1 = new Task();
+        sampleTask1.setId(1L);
+        sampleTask1.setTitle("Task 1");
+        sampleTask1.setImportance(Importance.IMPORTANT);
+        sampleTask1.setUrgency(Urgency.URGENT);
+        sampleTask1.setDueDate(LocalDate.now().plusDays(1));
+
+        sampleTask2 = new Task();
+        sampleTask2.setId(2L);
+        sampleTask2.setTitle("Task 2");
+        sampleTask2.setImportance(Importance.NOT_IMPORTANT);
+        sampleTask2.setUrgency(Urgency.NOT_URGENT);
+    }
+
+    @Test
+    void getAllTasks_streamsNdjson() throws Exception {
+        given(reactiveTaskService.getAllTasks(eq("work"), any(), any(), any(), any(), eq(Quadrant.IMPORTANT_URGENT),
+                eq("dueDate"), eq("desc"))).willReturn(Flux.just(sampleTask1, sampleTask2));
+
+        MvcResult result = mockMvc.perform(get("/api/v2/tasks")
+                        .param("label", "work")
+                        .param("quadrant", "IMPORTANT_URGENT")
+                        .param("sortBy", "dueDate")
+                        .param("sortDir", "desc")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(sampleTask1.getTitle(), objectMapper.readValue(lines[0], Task.class).getTitle());
+        assertEquals(sampleTask2.getTitle(), objectMapper.readValue(lines[1], Task.class).getTitle());
+    }
+
+    @Test
+    void getAllTasks_returnsJsonArray() throws Exception {
+        given(reactiveTaskService.getAllTasks(any(), any(), any(), any(), any(), any(), eq("id"), eq("asc")))
+                .willReturn(Flux.just(sampleTask1, sampleTask2));
+
+        MvcResult result = mockMvc.perform(get("/api/v2/tasks").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title", is("Task 1")));
+    }
+
+    @Test
+    void getTaskById_whenTaskExists_returnsTask() throws Exception {
+        given(reactiveTaskService.getTaskById(1L)).willReturn(Mono.just(sampleTask1));
+
+        MvcResult result = mockMvc.perform(get("/api/v2/tasks/{id}", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Task 1")));
+    }
+
+    @Test
+    void getTaskById_whenTaskMissing_returnsNotFound() throws Exception {
+        given(reactiveTaskService.getTaskById(99L)).willReturn(Mono.empty());
+
+        MvcResult result = mockMvc.perform(get("/api/v2/tasks/{id}", 99L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.taskmatrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the R2DBC queries see the same database as JPA and apply the same filters and sorting
+ * as {@link TaskService#getAllTasks}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:taskmatrix-reactive-test",
+        "taskmatrix.r2dbc.url=r2dbc:h2:mem:///taskmatrix-reactive-test",
+        "taskmatrix.query-cache.max-entries=0"
+})
+class ReactiveTaskServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private ReactiveTaskService reactiveTaskService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from task");
+        taskService.createTask(task("Pay rent", "Finance", TODAY.plusDays(1), Importance.IMPORTANT, Urgency.URGENT));
+        taskService.createTask(task("Plan trip", "home", TODAY.plusDays(30), Importance.IMPORTANT, Urgency.NOT_URGENT));
+        taskService.createTask(task("Answer email", "work", TODAY, Importance.NOT_IMPORTANT, Urgency.URGENT));
+        taskService.createTask(task("Sort photos", null, null, Importance.NOT_IMPORTANT, Urgency.NOT_URGENT));
+        taskService.createTask(task("Tax return", "finance", TODAY.plusDays(10), Importance.IMPORTANT, Urgency.URGENT));
+    }
+
+    @Test
+    void getTaskById_ReadsTaskWrittenThroughJpa() {
+        Task task = task("Call bank", "Finance", TODAY, Importance.IMPORTANT, Urgency.URGENT);
+        task.setDetails("Ask about the standing order");
+        Task created = taskService.createTask(task);
+
+        Task found = reactiveTaskService.getTaskById(created.getId()).block();
+
+        assertNotNull(found);
+        assertEquals(created, found);
+        assertEquals(Quadrant.IMPORTANT_URGENT, found.getQuadrant());
+    }
+
+    @Test
+    void getTaskById_ReturnsEmptyWhenMissing() {
+        assertNull(reactiveTaskService.getTaskById(-1L).block());
+    }
+
+    @Test
+    void getAllTasks_MatchesBlockingServiceForEveryFilter() {
+        assertSameAsBlocking(null, null, null, null, null, null, "id", "asc");
+        assertSameAsBlocking("FIN", null, null, null, null, null, "title", "asc");
+        assertSameAsBlocking("o", null, null, null, null, null, "id", "desc");
+        assertSameAsBlocking(null, TODAY.plusDays(10), TODAY.plusDays(1), null, null, null, "dueDate", "desc");
+        assertSameAsBlocking(null, null, null, Importance.IMPORTANT, null, null, "dueDate", "asc");
+        assertSameAsBlocking(null, null, null, null, Urgency.URGENT, null, "title", "desc");
+        assertSameAsBlocking(null, null, null, Importance.IMPORTANT, Urgency.URGENT, null, "id", "asc");
+        assertSameAsBlocking(null, null, null, Importance.NOT_IMPORTANT, null, Quadrant.IMPORTANT_URGENT, "id", "asc");
+        assertSameAsBlocking("nothing-matches", null, null, null, null, null, "id", "asc");
+        assertSameAsBlocking(null, null, null, null, null, null, "notAField", "asc");
+    }
+
+    private void assertSameAsBlocking(String label, LocalDate dueDateBefore, LocalDate dueDateAfter,
+                                      Importance importance, Urgency urgency, Quadrant quadrant,
+                                      String sortBy, String sortDir) {
+        List<Task> expected = taskService.getAllTasks(label, dueDateBefore, dueDateAfter, importance, urgency,
+                quadrant, sortBy, sortDir);
+        List<Task> actual = reactiveTaskService.getAllTasks(label, dueDateBefore, dueDateAfter, importance, urgency,
+                quadrant, sortBy, sortDir).collectList().block();
+        assertEquals(expected, actual);
+    }
+
+    private static Task task(String title, String label, LocalDate dueDate, Importance importance, Urgency urgency) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setLabel(label);
+        task.setDueDate(dueDate);
+        task.setImportance(importance);
+        task.setUrgency(urgency);
+        return task;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.taskmatrix;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the time from launching the packaged application to its first successful {@code GET /api/tasks}.
+ * <p>
+ * Runs with failsafe in the {@code fast-startup} Maven profile, after packaging has produced the extracted jar
+ * and AppCDS archive. Each variant starts in a fresh JVM, so class loading and JIT warm-up are part of the
+ * measurement, as they are when a pod starts:
+ * <ul>
+ *     <li>baseline: the extracted jar with the default configuration;</li>
+ *     <li>fast startup: the same jar with the CDS archive, AOT-generated initialization and the
+ *         {@code fast-startup} Spring profile.</li>
+ * </ul>
+ * Each variant is started {@code startup.runs} times (default 3), alternating between them, and its median is
+ * taken, so one noisy start on a shared build machine does not decide the result. The medians and every sample
+ * are written as JSON to {@code startup.report} (default {@code target/startup-time.json}) so they can be tracked
+ * across builds. Only the budget is enforced: the fast start's median must stay within {@code startup.budget-ms}.
+ */
+class StartupTimeIT {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    private final Path directory = Path.of(System.getProperty("startup.directory", "target/application"));
+    private final String jar = System.getProperty("startup.jar", "taskmatrix-0.0.1-SNAPSHOT.jar");
+    private final long budgetMillis = Long.getLong("startup.budget-ms", 60_000);
+    private final int runs = Integer.getInteger("startup.runs", 3);
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    void fastStartup_servesFirstRequestWithinBudget(TestReporter reporter) throws Exception {
+        List<Long> baselineSamples = new ArrayList<>();
+        List<Long> fastStartupSamples = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            baselineSamples.add(timeToFirstRequest("baseline", List.of()));
+            fastStartupSamples.add(timeToFirstRequest("fast-startup", List.of(
+                    "-XX:SharedArchiveFile=" + directory.resolve("application.jsa"),
+                    "-Dspring.aot.enabled=true",
+                    "-Dspring.profiles.active=fast-startup")));
+        }
+        long baseline = median(baselineSamples);
+        long fastStartup = median(fastStartupSamples);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("runs", runs);
+        report.put("baselineMillis", baseline);
+        report.put("fastStartupMillis", fastStartup);
+        report.put("baselineSamplesMillis", baselineSamples);
+        report.put("fastStartupSamplesMillis", fastStartupSamples);
+        report.put("budgetMillis", budgetMillis);
+        File file = new File(System.getProperty("startup.report", "target/startup-time.json"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        reporter.publishEntry("startupTime", "median time to first GET /api/tasks over " + runs + " runs: baseline "
+                + baseline + " ms, fast startup " + fastStartup + " ms; written to " + file);
+
+        assertTrue(fastStartup <= budgetMillis,
+                "Fast startup took " + fastStartup + " ms (median), over the budget of " + budgetMillis + " ms");
+    }
+
+    private static long median(List<Long> samples) {
+        List<Long> sorted = samples.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    /**
+     * Starts the application in a new JVM and polls until {@code GET /api/tasks} returns 200.
+     * @return Milliseconds from launching the process to the first successful response.
+     */
+    private long timeToFirstRequest(String variant, List<String> jvmArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", directory.resolve(jar).toString(), "--server.port=" + port));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks")).build();
+        // Twice the budget, so a slow baseline is still measured rather than aborted.
+        long deadline = System.nanoTime() + Duration.ofMillis(budgetMillis * 2).toNanos();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve("startup-" + variant + ".log").toFile())
+                .start();
+        try {
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    fail(variant + " exited with " + process.exitValue() + ", see "
+                            + directory.resolve("startup-" + variant + ".log"));
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet.
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            return fail(variant + " did not answer GET /api/tasks within " + budgetMillis * 2 + " ms");
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.taskmatrix;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskChangeFeedTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskChangeFeed feed = new TaskChangeFeed(3, 5, Duration.ofMinutes(1), Duration.ofHours(1), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        feed.destroy();
+    }
+
+    @Test
+    void onTaskChanged_sendsCreatesUpdatesAndDeletesToSubscriber() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(3);
+        feed.register(emitter, null, null, null);
+
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L, "Work", Importance.IMPORTANT, Urgency.URGENT)));
+        feed.onTaskChanged(TaskChangedEvent.updated(
+                task(2L, "Home", Importance.NOT_IMPORTANT, Urgency.URGENT), Quadrant.NOT_IMPORTANT_URGENT, "Home"));
+        feed.onTaskChanged(TaskChangedEvent.deleted(3L));
+
+        assertEquals(List.of("created:1", "updated:2", "deleted:3"), emitter.awaitEvents());
+        assertEquals(1, feed.subscriberCount());
+    }
+
+    @Test
+    void onTaskChanged_withFilter_skipsOtherTasksAndSendsRemovedWhenTaskLeavesFilter() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(3);
+        feed.register(emitter, Quadrant.IMPORTANT_URGENT, "work", null);
+
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L, "Home", Importance.IMPORTANT, Urgency.URGENT)));
+        feed.onTaskChanged(TaskChangedEvent.created(task(2L, "Homework", Importance.IMPORTANT, Urgency.URGENT)));
+        emitter.awaitSize(1);
+        // Task 1 never matched, so its updates are not sent.
+        feed.onTaskChanged(TaskChangedEvent.updated(
+                task(1L, "Garden", Importance.IMPORTANT, Urgency.URGENT), Quadrant.IMPORTANT_URGENT, "Home"));
+        feed.onTaskChanged(TaskChangedEvent.updated(
+                task(2L, "Homework", Importance.IMPORTANT, Urgency.NOT_URGENT), Quadrant.IMPORTANT_URGENT, "Homework"));
+        emitter.awaitSize(2);
+        feed.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        assertEquals(List.of("created:2", "removed:2", "deleted:2"), emitter.awaitEvents());
+    }
+
+    @Test
+    void onTaskChanged_whenSubscriberIsSlow_coalescesPerTaskAndResetsOnOverflow() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(3, release);
+        feed.register(emitter, null, null, null);
+
+        // The first send blocks, so everything after it queues up in the subscriber's buffer.
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L, "A", Importance.IMPORTANT, Urgency.URGENT)));
+        emitter.awaitBlocked();
+        feed.onTaskChanged(TaskChangedEvent.updated(
+                task(1L, "A", Importance.IMPORTANT, Urgency.URGENT), Quadrant.IMPORTANT_URGENT, "A"));
+        feed.onTaskChanged(TaskChangedEvent.updated(
+                task(1L, "A", Importance.IMPORTANT, Urgency.NOT_URGENT), Quadrant.IMPORTANT_URGENT, "A"));
+        assertEquals(1.0, meterRegistry.counter("taskmatrix.stream.coalesced").count());
+
+        feed.onTaskChanged(TaskChangedEvent.created(task(2L, "B", Importance.IMPORTANT, Urgency.URGENT)));
+        feed.onTaskChanged(TaskChangedEvent.created(task(3L, "C", Importance.IMPORTANT, Urgency.URGENT)));
+        // A fourth distinct task overflows the buffer of three.
+        feed.onTaskChanged(TaskChangedEvent.created(task(4L, "D", Importance.IMPORTANT, Urgency.URGENT)));
+        assertEquals(1.0, meterRegistry.counter("taskmatrix.stream.resets").count());
+        release.countDown();
+
+        assertEquals(List.of("created:1", "reset", "created:4"), emitter.awaitEvents());
+    }
+
+    @Test
+    void register_withLastEventId_replaysMissedEvents() throws Exception {
+        RecordingEmitter first = new RecordingEmitter(1);
+        feed.register(first, null, null, null);
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L, "A", Importance.IMPORTANT, Urgency.URGENT)));
+        first.awaitEvents();
+        String lastEventId = first.ids.get(0);
+        first.complete();
+
+        feed.onTaskChanged(TaskChangedEvent.created(task(2L, "B", Importance.IMPORTANT, Urgency.URGENT)));
+        feed.onTaskChanged(TaskChangedEvent.deleted(1L));
+
+        RecordingEmitter resumed = new RecordingEmitter(2);
+        feed.register(resumed, null, null, lastEventId);
+        assertEquals(List.of("created:2", "deleted:1"), resumed.awaitEvents());
+    }
+
+    @Test
+    void register_withUnknownOrExpiredLastEventId_sendsReset() throws Exception {
+        for (long id = 1; id <= 7; id++) {
+            feed.onTaskChanged(TaskChangedEvent.deleted(id));
+        }
+
+        RecordingEmitter unknown = new RecordingEmitter(1);
+        feed.register(unknown, null, null, "elsewhere-3");
+        assertEquals(List.of("reset"), unknown.awaitEvents());
+
+        // Only the last five events are kept, so resuming after the first one is no longer possible.
+        RecordingEmitter expired = new RecordingEmitter(1);
+        feed.register(expired, null, null, unknown.ids.get(0).replaceAll("-\\d+$", "-1"));
+        assertEquals(List.of("reset"), expired.awaitEvents());
+    }
+
+    @Test
+    void send_whenClientIsGone_removesSubscriber() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(1);
+        emitter.failing = true;
+        feed.register(emitter, null, null, null);
+
+        feed.onTaskChanged(TaskChangedEvent.deleted(1L));
+
+        emitter.awaitEvents();
+        for (int i = 0; i < 100 && feed.subscriberCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    private static Task task(Long id, String label, Importance importance, Urgency urgency) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setLabel(label);
+        task.setImportance(importance);
+        task.setUrgency(urgency);
+        task.updateQuadrant();
+        return task;
+    }
+
+    /**
+     * Records sent events as "name:taskId" without a servlet response behind it.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final List<String> ids = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private final CountDownLatch release;
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private volatile boolean failing;
+
+        RecordingEmitter(int expected) {
+            this(expected, new CountDownLatch(0));
+        }
+
+        RecordingEmitter(int expected, CountDownLatch release) {
+            this.received = new CountDownLatch(expected);
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Set<DataWithMediaType> parts = builder.build();
+            String text = parts.stream()
+                    .filter(part -> !MediaType.APPLICATION_JSON.equals(part.getMediaType()))
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining());
+            Object data = parts.stream()
+                    .filter(part -> MediaType.APPLICATION_JSON.equals(part.getMediaType()))
+                    .map(DataWithMediaType::getData)
+                    .findFirst().orElse(null);
+            String name = text.replaceAll("(?s).*event:([a-z]+).*", "$1");
+            ids.add(text.replaceAll("(?s).*id:(\\S+).*", "$1"));
+            if (data instanceof Task task) {
+                events.add(name + ":" + task.getId());
+            } else if (data instanceof Map<?, ?> map && map.containsKey("id")) {
+                events.add(name + ":" + map.get("id"));
+            } else {
+                events.add(name);
+            }
+            received.countDown();
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        }
+
+        void awaitSize(int size) throws InterruptedException {
+            for (int i = 0; i < 500 && events.size() < size; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(size, events.size(), events.toString());
+        }
+
+        List<String> awaitEvents() throws InterruptedException {
+            assertTrue(received.await(5, TimeUnit.SECONDS), "received only " + events);
+            return List.copyOf(events);
+        }
+    }
+}
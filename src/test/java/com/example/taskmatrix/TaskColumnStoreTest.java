@@ -0,0 +1,110 @@
+package com.example.taskmatrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskColumnStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 10);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskColumnStore store;
+
+    private record Columns(Long getId, String getLabel, LocalDate getDueDate, Importance getImportance,
+                           Urgency getUrgency) implements TaskRepository.TaskColumns {
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(taskRepository.streamColumns()).thenReturn(Stream.of(
+                new Columns(1L, "Work", DAY, Importance.IMPORTANT, Urgency.URGENT),
+                new Columns(2L, "home", DAY.plusDays(5), Importance.NOT_IMPORTANT, Urgency.URGENT),
+                new Columns(3L, null, null, Importance.IMPORTANT, Urgency.NOT_URGENT),
+                new Columns(4L, "homework", DAY.minusDays(5), Importance.NOT_IMPORTANT, Urgency.NOT_URGENT)));
+        store = new TaskColumnStore(taskRepository, true);
+        store.rebuild();
+    }
+
+    private static Task task(Long id, String label, LocalDate dueDate, Importance importance, Urgency urgency) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setLabel(label);
+        task.setDueDate(dueDate);
+        task.setImportance(importance);
+        task.setUrgency(urgency);
+        task.updateQuadrant();
+        return task;
+    }
+
+    private List<Long> find(String label, LocalDate before, LocalDate after, Importance importance, Urgency urgency,
+                            Quadrant quadrant, String sortField, Sort.Direction direction) {
+        return store.findIds(label, before, after, importance, urgency, quadrant, sortField, direction).orElseThrow();
+    }
+
+    @Test
+    void findIds_filtersLikeTheSpecification() {
+        assertEquals(List.of(1L, 2L, 3L, 4L), find(null, null, null, null, null, null, "id", Sort.Direction.ASC));
+        assertEquals(List.of(2L, 4L), find("HOME", null, null, null, null, null, "id", Sort.Direction.ASC));
+        assertEquals(List.of(1L, 4L), find(null, DAY, null, null, null, null, "id", Sort.Direction.ASC));
+        assertEquals(List.of(1L, 2L), find(null, null, DAY, null, null, null, "id", Sort.Direction.ASC));
+        assertEquals(List.of(1L, 3L), find(null, null, null, Importance.IMPORTANT, null, null, "id", Sort.Direction.ASC));
+        assertEquals(List.of(2L), find(null, null, null, Importance.NOT_IMPORTANT, Urgency.URGENT, null, "id", Sort.Direction.ASC));
+        // The quadrant overrides importance and urgency.
+        assertEquals(List.of(3L), find(null, null, null, Importance.NOT_IMPORTANT, Urgency.URGENT,
+                Quadrant.IMPORTANT_NOT_URGENT, "id", Sort.Direction.DESC));
+    }
+
+    @Test
+    void findIds_sortsNullsLowestAndEnumsByName() {
+        assertEquals(List.of(3L, 4L, 1L, 2L), find(null, null, null, null, null, null, "dueDate", Sort.Direction.ASC));
+        assertEquals(List.of(2L, 1L, 4L, 3L), find(null, null, null, null, null, null, "dueDate", Sort.Direction.DESC));
+        assertEquals(List.of(3L, 1L, 2L, 4L), find(null, null, null, null, null, null, "label", Sort.Direction.ASC));
+        // IMPORTANT_NOT_URGENT sorts before IMPORTANT_URGENT by name, as in the database.
+        assertEquals(List.of(3L, 1L, 4L, 2L), find(null, null, null, null, null, null, "quadrant", Sort.Direction.ASC));
+        assertEquals(List.of(3L, 4L, 1L, 2L), find(null, null, null, null, null, null, "urgency", Sort.Direction.ASC));
+    }
+
+    @Test
+    void onTaskChanged_appliesCreatesUpdatesAndDeletes() {
+        store.onTaskChanged(TaskChangedEvent.created(task(5L, "work", DAY, Importance.IMPORTANT, Urgency.URGENT)));
+        store.onTaskChanged(TaskChangedEvent.updated(
+                task(1L, "errand", DAY, Importance.NOT_IMPORTANT, Urgency.URGENT), Quadrant.IMPORTANT_URGENT, "Work"));
+        store.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        assertEquals(List.of(4L, 5L), find("work", null, null, null, null, null, "id", Sort.Direction.ASC));
+        assertEquals(List.of(1L), find(null, null, null, null, null, Quadrant.NOT_IMPORTANT_URGENT, "id", Sort.Direction.ASC));
+        assertEquals(4, store.size());
+    }
+
+    @Test
+    void findIds_fallsBackForTitleSortAndLikeWildcards() {
+        assertEquals(Optional.empty(), store.findIds(null, null, null, null, null, null, "title", Sort.Direction.ASC));
+        assertEquals(Optional.empty(), store.findIds("ho%e", null, null, null, null, null, "id", Sort.Direction.ASC));
+    }
+
+    @Test
+    void whenDisabled_neverBuildsOrAnswers() {
+        TaskColumnStore disabled = new TaskColumnStore(taskRepository, false);
+
+        disabled.rebuild();
+
+        assertEquals(Optional.empty(), disabled.findIds(null, null, null, null, null, null, "id", Sort.Direction.ASC));
+        verify(taskRepository, times(1)).streamColumns(); // Only the rebuild in setUp.
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.taskmatrix;
 
+import com.example.taskmatrix.exception.PreconditionFailedException;
 import com.example.taskmatrix.exception.ResourceNotFoundException;
+import com.example.taskmatrix.exception.SearchIndexNotReadyException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,18 +12,27 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.doNothing;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.is;
@@ -37,6 +48,12 @@ public class TaskControllerTest {
     @MockBean // Mocks the TaskService dependency
     private TaskService taskService;
 
+    @MockBean
+    private TaskQueryCache queryCache;
+
+    @MockBean
+    private TaskChangeFeed changeFeed;
+
     @Autowired
     private ObjectMapper objectMapper; // For converting objects to JSON
 
@@ -116,6 +133,26 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.title", is(sampleTask1.getTitle())));
     }
 
+    @Test
+    void getTaskById_sendsVersionAsETag() throws Exception {
+        sampleTask1.setVersion(3L);
+        given(taskService.getTaskById(1L)).willReturn(Optional.of(sampleTask1));
+
+        mockMvc.perform(get("/api/tasks/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    void getTaskById_ifNoneMatchCurrentVersion_returnsNotModified() throws Exception {
+        sampleTask1.setVersion(3L);
+        given(taskService.getTaskById(1L)).willReturn(Optional.of(sampleTask1));
+
+        mockMvc.perform(get("/api/tasks/{id}", 1L).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getTaskById_notFound_returnsNotFound() throws Exception {
         given(taskService.getTaskById(1L)).willReturn(Optional.empty());
@@ -148,6 +185,167 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$[0].title", is(sampleTask1.getTitle())));
     }
 
+    @Test
+    void getAllTasks_withLimit_returnsPageAndNextCursorHeader() throws Exception {
+        given(taskService.getTasksPage(null, null, null, null, null, null, "dueDate", "asc", null, 1))
+                .willReturn(new TaskPage(List.of(sampleTask1), "next-token"));
+
+        mockMvc.perform(get("/api/tasks?sortBy=dueDate&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TaskController.NEXT_CURSOR_HEADER, "next-token"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is(sampleTask1.getTitle())));
+    }
+
+    @Test
+    void getAllTasks_invalidCursor_returnsBadRequest() throws Exception {
+        given(taskService.getTasksPage(any(), any(), any(), any(), any(), any(), any(), any(), eq("bad"), anyInt()))
+                .willThrow(new IllegalArgumentException("Invalid cursor."));
+
+        mockMvc.perform(get("/api/tasks?cursor=bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllTasks_withFields_returnsOnlyThoseFields() throws Exception {
+        given(taskService.getTaskFields(null, null, null, null, null, null, "id", "asc", "title,quadrant"))
+                .willReturn(List.of(Map.of("id", 1L, "title", "Task 1", "quadrant", "IMPORTANT_URGENT")));
+
+        mockMvc.perform(get("/api/tasks?fields=title,quadrant"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Task 1")))
+                .andExpect(jsonPath("$[0].quadrant", is("IMPORTANT_URGENT")))
+                .andExpect(jsonPath("$[0].details").doesNotExist());
+    }
+
+    @Test
+    void getAllTasks_withFieldsAndLimit_returnsPageAndNextCursorHeader() throws Exception {
+        given(taskService.getTaskFieldsPage(null, null, null, null, null, null, "id", "asc", null, 1, "title"))
+                .willReturn(new TaskFieldsPage(List.of(Map.of("id", 1L, "title", "Task 1")), "next-token"));
+
+        mockMvc.perform(get("/api/tasks?fields=title&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TaskController.NEXT_CURSOR_HEADER, "next-token"))
+                .andExpect(jsonPath("$[0].title", is("Task 1")));
+    }
+
+    @Test
+    void getAllTasks_unknownField_returnsBadRequest() throws Exception {
+        given(taskService.getTaskFields(any(), any(), any(), any(), any(), any(), any(), any(), eq("secret")))
+                .willThrow(new IllegalArgumentException("Unknown field: secret"));
+
+        mockMvc.perform(get("/api/tasks?fields=secret"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllTasks_ifNoneMatchCurrentETag_returnsNotModifiedWithoutQuerying() throws Exception {
+        given(queryCache.getVersion()).willReturn(7L);
+        given(taskService.getAllTasks(null, null, null, null, null, null, "id", "asc"))
+                .willReturn(List.of(sampleTask1));
+
+        String eTag = mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        verify(taskService, times(1)).getAllTasks(null, null, null, null, null, null, "id", "asc");
+
+        given(queryCache.getVersion()).willReturn(8L);
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getFacets_returnsCounts() throws Exception {
+        given(taskService.getFacets(eq("TestLabel"), any(), any(), any(), any(), any())).willReturn(new TaskFacets(
+                2L,
+                Map.of(Quadrant.IMPORTANT_URGENT, 2L),
+                Map.of("TestLabel", 2L),
+                Map.of(DueDateBucket.OVERDUE, 1L, DueDateBucket.LATER, 1L)));
+
+        mockMvc.perform(get("/api/tasks/facets?label=TestLabel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.quadrants.IMPORTANT_URGENT", is(2)))
+                .andExpect(jsonPath("$.labels.TestLabel", is(2)))
+                .andExpect(jsonPath("$.dueDates.OVERDUE", is(1)));
+    }
+
+    @Test
+    void searchTasks_passesQueryFiltersAndDefaultLimit() throws Exception {
+        given(taskService.searchTasks("leaking tap", null, null, null, null, Urgency.URGENT, null,
+                TaskService.DEFAULT_SEARCH_LIMIT)).willReturn(List.of(sampleTask1));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "leaking tap").param("urgency", "URGENT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void searchTasks_whileIndexIsBuilding_returnsServiceUnavailable() throws Exception {
+        given(taskService.searchTasks(any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .willThrow(new SearchIndexNotReadyException("building"));
+
+        mockMvc.perform(get("/api/tasks/search?q=tap"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void getCacheStats_returnsRegionStatistics() throws Exception {
+        given(taskService.getCacheStats()).willReturn(new TaskCacheStats(3, 1, 4, 4));
+
+        mockMvc.perform(get("/api/tasks/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits", is(3)))
+                .andExpect(jsonPath("$.misses", is(1)))
+                .andExpect(jsonPath("$.hitRatio", is(0.75)));
+    }
+
+    @Test
+    void exportTasks_streamsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(8);
+            consumer.accept(sampleTask1);
+            consumer.accept(sampleTask2);
+            return null;
+        }).when(taskService).streamTasks(eq("TestLabel"), any(), any(), any(), any(), any(), eq("id"), eq("asc"), any());
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export?label=TestLabel"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(sampleTask1.getTitle(), objectMapper.readValue(lines[0], Task.class).getTitle());
+        assertEquals(sampleTask2.getTitle(), objectMapper.readValue(lines[1], Task.class).getTitle());
+    }
+
+    @Test
+    void streamChanges_subscribesWithFiltersAndLastEventId() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        given(changeFeed.subscribe(Quadrant.IMPORTANT_URGENT, "work", "abc-41")).willReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream?quadrant=IMPORTANT_URGENT&label=work")
+                        .header("Last-Event-ID", "abc-41")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().id("abc-42").name("deleted").data(Map.of("id", 1), MediaType.APPLICATION_JSON));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("id:abc-42\nevent:deleted\ndata:{\"id\":1}\n\n"));
+    }
+
 
     @Test
     void updateTask_validUpdate_returnsOk() throws Exception {
@@ -161,6 +359,33 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.title", is("Updated Title")));
     }
 
+    @Test
+    void updateTask_ifMatch_passesExpectedVersionAndReturnsNewETag() throws Exception {
+        Task updatedTask = createTask(1L, "Updated Title", Importance.IMPORTANT, Urgency.URGENT);
+        updatedTask.setVersion(3L);
+        given(taskService.updateTask(eq(1L), any(Task.class), eq(2L))).willReturn(updatedTask);
+
+        mockMvc.perform(put("/api/tasks/{id}", 1L)
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedTask)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    void updateTask_versionConflict_returnsPreconditionFailed() throws Exception {
+        Task updatedTask = createTask(1L, "Updated Title", Importance.IMPORTANT, Urgency.URGENT);
+        given(taskService.updateTask(eq(1L), any(Task.class), eq(2L)))
+                .willThrow(new PreconditionFailedException("Task 1 is at version 3, not 2."));
+
+        mockMvc.perform(put("/api/tasks/{id}", 1L)
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedTask)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void updateTask_invalidUpdate_returnsBadRequest() throws Exception {
         Task invalidUpdate = createTask(1L, "", Importance.IMPORTANT, Urgency.URGENT); // Blank title
@@ -183,9 +408,85 @@ public class TaskControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void importTasks_streamsCsvToServiceAndReturnsSummary() throws Exception {
+        given(taskService.importTasks(any())).willReturn(new ImportResult(1, 1,
+                List.of(new ImportResult.LineError(3, "Task title cannot be null or empty.")), false, true));
+
+        mockMvc.perform(post("/api/tasks/import")
+                .contentType("text/csv")
+                .content("title,importance,urgency\nA,IMPORTANT,URGENT\n,IMPORTANT,URGENT\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)));
+    }
+
+    @Test
+    void importTasks_invalidHeader_returnsBadRequest() throws Exception {
+        given(taskService.importTasks(any())).willThrow(new IllegalArgumentException("Unknown CSV column"));
+
+        mockMvc.perform(post("/api/tasks/import")
+                .contentType("text/csv")
+                .content("name\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createTasks_batch_returnsPerItemResults() throws Exception {
+        given(taskService.createTasks(anyList())).willReturn(BatchResult.of(List.of(
+                BatchResult.ItemResult.succeeded(0, 1L),
+                BatchResult.ItemResult.failed(1, null, "Task title cannot be null or empty."))));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(sampleTask1, createTask(null, "", Importance.IMPORTANT, Urgency.URGENT)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.items[1].error", is("Task title cannot be null or empty.")));
+    }
+
+    @Test
+    void deleteTasks_emptyBatch_returnsBadRequest() throws Exception {
+        given(taskService.deleteTasks(anyList())).willThrow(new IllegalArgumentException("Batch cannot be empty."));
+
+        mockMvc.perform(delete("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchTask_mergePatch_returnsPatchedTaskAndETag() throws Exception {
+        Task patchedTask = createTask(1L, "Patched", Importance.IMPORTANT, Urgency.URGENT);
+        patchedTask.setVersion(5L);
+        Map<String, Object> patch = new java.util.LinkedHashMap<>();
+        patch.put("title", "Patched");
+        patch.put("label", null);
+        given(taskService.patchTask(1L, patch, 4L)).willReturn(patchedTask);
+
+        mockMvc.perform(patch("/api/tasks/{id}", 1L)
+                .header("If-Match", "\"4\"")
+                .contentType(TaskController.MERGE_PATCH_JSON_VALUE)
+                .content("{\"title\":\"Patched\",\"label\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.title", is("Patched")));
+    }
+
+    @Test
+    void patchTask_notFound_returnsNotFound() throws Exception {
+        given(taskService.patchTask(eq(9L), any(), any())).willThrow(new ResourceNotFoundException("Task not found"));
+
+        mockMvc.perform(patch("/api/tasks/{id}", 9L)
+                .contentType(TaskController.MERGE_PATCH_JSON_VALUE)
+                .content("{\"title\":\"Patched\"}"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void deleteTask_exists_returnsNoContent() throws Exception {
-        doNothing().when(taskService).deleteTask(1L);
+        given(taskService.deleteTask(1L)).willReturn(new Task());
 
         mockMvc.perform(delete("/api/tasks/{id}", 1L))
                 .andExpect(status().isNoContent());
@@ -0,0 +1,95 @@
+package com.example.taskmatrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskMatrixServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private TaskMatrixService taskMatrixService;
+
+    @BeforeEach
+    void setUp() {
+        taskMatrixService = new TaskMatrixService(taskService, Runnable::run, 25);
+        lenient().when(taskService.getQuadrantCounts(any(), any(), any(), any(), any(), any())).thenReturn(Map.of());
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        return task;
+    }
+
+    @Test
+    void getMatrix_queriesEachQuadrantWithDefaultLimit() {
+        when(taskService.getTasksPage(any(), any(), any(), any(), any(), any(Quadrant.class), any(), any(), any(), eq(25)))
+                .thenReturn(new TaskPage(List.of(task(1L)), "next"));
+
+        TaskMatrix matrix = taskMatrixService.getMatrix(null, null, null, null, null, null, "id", "asc", null);
+
+        for (Quadrant q : Quadrant.values()) {
+            verify(taskService).getTasksPage(null, null, null, null, null, q, "id", "asc", null, 25);
+            assertEquals(1, matrix.tasks(q).size());
+            assertTrue(matrix.hasMore(q));
+        }
+    }
+
+    @Test
+    void getMatrix_importanceFilter_skipsContradictingQuadrants() {
+        when(taskService.getTasksPage(any(), any(), any(), any(), any(), any(Quadrant.class), any(), any(), any(), anyInt()))
+                .thenReturn(new TaskPage(List.of(task(1L)), null));
+
+        TaskMatrix matrix = taskMatrixService.getMatrix(null, null, null, Importance.NOT_IMPORTANT, null, null, "id", "asc", null);
+
+        verify(taskService, times(2)).getTasksPage(any(), any(), any(), any(), any(), any(Quadrant.class), any(), any(), any(), anyInt());
+        assertTrue(matrix.tasks(Quadrant.IMPORTANT_URGENT).isEmpty());
+        assertTrue(matrix.tasks(Quadrant.IMPORTANT_NOT_URGENT).isEmpty());
+        assertEquals(1, matrix.tasks(Quadrant.NOT_IMPORTANT_URGENT).size());
+        assertFalse(matrix.hasMore(Quadrant.NOT_IMPORTANT_URGENT));
+    }
+
+    @Test
+    void getMatrix_quadrantFilterAndLargeLimit_queriesOnlyThatQuadrantWithClampedLimit() {
+        when(taskService.getTasksPage(any(), any(), any(), any(), any(), eq(Quadrant.IMPORTANT_URGENT), any(), any(), any(), anyInt()))
+                .thenReturn(new TaskPage(List.of(), null));
+
+        TaskMatrix matrix = taskMatrixService.getMatrix(null, null, null, null, null, Quadrant.IMPORTANT_URGENT, "id", "asc", 50_000);
+
+        assertEquals(TaskService.MAX_PAGE_SIZE, matrix.limit());
+        verify(taskService).getTasksPage(null, null, null, null, null, Quadrant.IMPORTANT_URGENT, "id", "asc", null, TaskService.MAX_PAGE_SIZE);
+        verifyNoMoreInteractions(ignoreStubs(taskService));
+    }
+
+    @Test
+    void getQuadrants_queriesOnlyRequestedQuadrants() {
+        when(taskService.getTasksPage(any(), any(), any(), any(), any(), any(Quadrant.class), any(), any(), any(), anyInt()))
+                .thenReturn(new TaskPage(List.of(task(1L)), null));
+
+        TaskMatrix matrix = taskMatrixService.getQuadrants(EnumSet.of(Quadrant.IMPORTANT_URGENT, Quadrant.NOT_IMPORTANT_URGENT),
+                "work", null, null, null, null, null, "dueDate", "desc", 10);
+
+        verify(taskService).getTasksPage("work", null, null, null, null, Quadrant.IMPORTANT_URGENT, "dueDate", "desc", null, 10);
+        verify(taskService).getTasksPage("work", null, null, null, null, Quadrant.NOT_IMPORTANT_URGENT, "dueDate", "desc", null, 10);
+        verify(taskService).getQuadrantCounts("work", null, null, null, null, null);
+        verifyNoMoreInteractions(taskService);
+        assertEquals(1, matrix.tasks(Quadrant.IMPORTANT_URGENT).size());
+        assertTrue(matrix.tasks(Quadrant.IMPORTANT_NOT_URGENT).isEmpty());
+    }
+}
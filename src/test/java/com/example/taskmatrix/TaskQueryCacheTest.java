@@ -0,0 +1,96 @@
+package com.example.taskmatrix;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskQueryCacheTest {
+
+    @Test
+    void get_returnsCachedValueUntilVersionChanges() {
+        TaskQueryCache cache = new TaskQueryCache(4, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, (int) cache.get("key", loads::incrementAndGet));
+        assertEquals(1, (int) cache.get("key", loads::incrementAndGet));
+
+        cache.onTaskChanged(TaskChangedEvent.deleted(1L));
+
+        assertEquals(2, (int) cache.get("key", loads::incrementAndGet));
+        assertEquals(1, cache.getVersion());
+    }
+
+    @Test
+    void get_resultLoadedDuringWrite_isNotServedAfterIt() {
+        TaskQueryCache cache = new TaskQueryCache(4, 100);
+
+        // The write commits while the query is running.
+        cache.get("key", () -> {
+            cache.onTaskChanged(TaskChangedEvent.deleted(1L));
+            return "stale";
+        });
+
+        assertEquals("fresh", cache.get("key", () -> "fresh"));
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedEntry() {
+        TaskQueryCache cache = new TaskQueryCache(2, 100);
+        cache.get("a", () -> "a");
+        cache.get("b", () -> "b");
+        cache.get("a", () -> "reloaded");
+        cache.get("c", () -> "c");
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get("a", () -> "reloaded"));
+        assertEquals("reloaded", cache.get("b", () -> "reloaded"));
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedEntriesToStayWithinRowBudget() {
+        TaskQueryCache cache = new TaskQueryCache(10, 5);
+        cache.get("a", () -> List.of(1, 2));
+        cache.get("b", () -> List.of(1, 2));
+        cache.get("a", () -> List.of());
+        cache.get("c", () -> List.of(1, 2, 3));
+
+        assertEquals(2, cache.size());
+        assertEquals(5, cache.rows());
+        assertEquals(List.of(1, 2), cache.get("a", List::of));
+        assertEquals(List.of(), cache.get("b", List::of));
+    }
+
+    @Test
+    void get_resultLargerThanRowBudget_isNotCached() {
+        TaskQueryCache cache = new TaskQueryCache(10, 5);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("small", () -> List.of(1));
+
+        for (int i = 0; i < 2; i++) {
+            cache.get("large", () -> {
+                loads.incrementAndGet();
+                return new TaskPage(Collections.nCopies(6, new Task()), null);
+            });
+        }
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.rows());
+    }
+
+    @Test
+    void get_withZeroEntries_alwaysLoads() {
+        TaskQueryCache cache = new TaskQueryCache(0, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", loads::incrementAndGet);
+        cache.get("key", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+}
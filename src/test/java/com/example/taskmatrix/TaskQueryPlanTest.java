@@ -0,0 +1,190 @@
+package com.example.taskmatrix;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with H2's EXPLAIN that every filter combination of {@link TaskSpecification} is answered
+ * from an index rather than a table scan.
+ * The label "contains" filter is resolved through {@link LabelTrigramIndex} into an id restriction,
+ * exactly as {@link TaskService} does, since a leading-wildcard LIKE cannot use a B-tree index.
+ */
+@SpringBootTest(properties = {
+        // Inline criteria values so the captured SQL can be explained without its parameters.
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.datasource.url=jdbc:h2:mem:taskmatrix-plan-test"
+})
+class TaskQueryPlanTest {
+
+    private static final int ROWS = 5000;
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    @TestConfiguration
+    static class CaptureSql {
+        @Bean
+        List<String> capturedSql() {
+            return new CopyOnWriteArrayList<>();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture(List<String> capturedSql) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    (StatementInspector) sql -> {
+                        capturedSql.add(sql);
+                        return sql;
+                    });
+        }
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private List<String> capturedSql;
+
+    @BeforeEach
+    void seed() {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from task", Integer.class);
+        if (count != null && count >= ROWS) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            Importance importance = i % 2 == 0 ? Importance.IMPORTANT : Importance.NOT_IMPORTANT;
+            Urgency urgency = i % 3 == 0 ? Urgency.URGENT : Urgency.NOT_URGENT;
+            rows.add(new Object[]{
+                    (long) i,
+                    "Task " + i,
+                    "label-" + (i % 50),
+                    i % 10 == 0 ? null : TODAY.plusDays(i % 365 - 100),
+                    importance.name(),
+                    urgency.name(),
+                    Quadrant.of(importance, urgency).name()});
+        }
+        jdbcTemplate.batchUpdate("insert into task (id, title, label, due_date, importance, urgency, quadrant)"
+                + " values (?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("analyze");
+    }
+
+    static Stream<Arguments> filterCombinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        // Every subset of the independent filters.
+        for (int mask = 1; mask < 32; mask++) {
+            combinations.add(Arguments.of(
+                    (mask & 1) != 0 ? Set.of(7L, 8L, 9L) : null,
+                    (mask & 2) != 0 ? TODAY.plusDays(30) : null,
+                    (mask & 4) != 0 ? TODAY : null,
+                    (mask & 8) != 0 ? Importance.IMPORTANT : null,
+                    (mask & 16) != 0 ? Urgency.URGENT : null,
+                    null));
+        }
+        // Each quadrant, alone and with a due-date window.
+        for (Quadrant quadrant : Quadrant.values()) {
+            combinations.add(Arguments.of(null, null, null, null, null, quadrant));
+            combinations.add(Arguments.of(null, TODAY.plusDays(30), TODAY, null, null, quadrant));
+        }
+        return combinations.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    void filterCombination_usesIndex(Set<Long> labelMatches, LocalDate dueDateBefore, LocalDate dueDateAfter,
+                                     Importance importance, Urgency urgency, Quadrant quadrant) {
+        Specification<Task> spec = TaskSpecification.getTasksByCriteria(
+                null, dueDateBefore, dueDateAfter, importance, urgency, quadrant);
+        if (labelMatches != null) {
+            spec = spec.and(TaskSpecification.hasIdIn(labelMatches));
+        }
+
+        String plan = explain(spec, Sort.by("id"));
+
+        assertFalse(plan.contains("tableScan"), () -> "Query falls back to a table scan:\n" + plan);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Quadrant.class)
+    void quadrantFilter_isSingleRangeScanOnQuadrantIndex(Quadrant quadrant) {
+        String plan = explain(TaskSpecification.getTasksByCriteria(null, null, null, null, null, quadrant),
+                Sort.by("dueDate").and(Sort.by("id")));
+
+        assertTrue(plan.contains("IDX_TASK_QUADRANT_DUE_DATE: QUADRANT = '" + quadrant.name() + "'"),
+                () -> "Quadrant filter does not use the quadrant index:\n" + plan);
+    }
+
+    @Test
+    void countByQuadrant_groupsOverQuadrantIndex() {
+        capturedSql.clear();
+        taskRepository.countByQuadrant(TaskSpecification.getTasksByCriteria(null, null, null, null, null, null));
+        String plan = explainLast();
+
+        assertTrue(plan.contains("IDX_TASK_QUADRANT_DUE_DATE"), () -> "Quadrant counts do not use the quadrant index:\n" + plan);
+        assertFalse(plan.contains("tableScan"), () -> "Quadrant counts fall back to a table scan:\n" + plan);
+    }
+
+    @Test
+    void findFields_selectsOnlyRequestedColumnsOverIndex() {
+        capturedSql.clear();
+        List<Map<String, Object>> rows = taskRepository.findFields(
+                TaskSpecification.getTasksByCriteria(null, null, null, null, null, Quadrant.IMPORTANT_URGENT),
+                Sort.by("dueDate").and(Sort.by("id")), List.of("id", "title", "dueDate"), 50);
+        String sql = capturedSql.get(capturedSql.size() - 1);
+        String plan = explainLast();
+
+        assertEquals(50, rows.size());
+        assertEquals(List.of("id", "title", "dueDate"), List.copyOf(rows.get(0).keySet()));
+        assertFalse(sql.contains("details"), () -> "Projection reads the details column:\n" + sql);
+        assertTrue(plan.contains("IDX_TASK_QUADRANT_DUE_DATE"), () -> "Projection does not use the quadrant index:\n" + plan);
+    }
+
+    @ParameterizedTest
+    @MethodSource("sortFields")
+    void unfilteredSort_readsIndexInOrder(String sortField) {
+        String plan = explain((root, query, cb) -> null, Sort.by(sortField).and(Sort.by("id")));
+        assertFalse(plan.contains("tableScan"), () -> "Sort falls back to a table scan:\n" + plan);
+    }
+
+    static Stream<String> sortFields() {
+        return Stream.of("id", "title", "dueDate", "label", "importance", "urgency", "quadrant");
+    }
+
+    private String explain(Specification<Task> spec, Sort sort) {
+        capturedSql.clear();
+        taskRepository.findAll(spec, sort);
+        return explainLast();
+    }
+
+    private String explainLast() {
+        String sql = capturedSql.stream()
+                .filter(s -> s.startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.taskmatrix;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the single-statement writes of {@link TaskRepositoryImpl} keep the second-level cache coherent
+ * when a concurrent read loaded the old row before the write and tries to cache it after the write committed.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:taskmatrix-cache-test")
+class TaskRepositoryCacheTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        Task newTask = new Task();
+        newTask.setTitle("Old title");
+        newTask.setImportance(Importance.IMPORTANT);
+        newTask.setUrgency(Urgency.NOT_URGENT);
+        task = taskRepository.save(newTask);
+        entityManagerFactory.getCache().evict(Task.class, task.getId());
+    }
+
+    @Test
+    void updateFields_readThatLoadedOldRow_cannotCacheItAfterCommit() throws Exception {
+        AtomicReference<TaskRepositoryCustom.FieldUpdate> update = new AtomicReference<>();
+        boolean cached = loadThenCacheAfter(() -> {
+            update.set(taskRepository.updateFields(task.getId(), Map.of("title", "New title"), null).orElseThrow());
+            return true;
+        });
+
+        assertFalse(cached);
+        assertEquals("Old title", update.get().previous().getTitle());
+        assertEquals("New title", update.get().task().getTitle());
+        assertEquals(task.getVersion() + 1, update.get().task().getVersion());
+        assertEquals("New title", taskRepository.findById(task.getId()).orElseThrow().getTitle());
+        // Once the write is over, the new state is cached as usual.
+        assertTrue(entityManagerFactory.getCache().contains(Task.class, task.getId()));
+    }
+
+    @Test
+    void removeById_readThatLoadedOldRow_cannotCacheItAfterCommit() throws Exception {
+        boolean cached = loadThenCacheAfter(() -> taskRepository.removeById(task.getId()).isPresent());
+
+        assertFalse(cached);
+        assertTrue(taskRepository.findById(task.getId()).isEmpty());
+    }
+
+    @Test
+    void escalateDueBy_readThatLoadedOldRow_cannotCacheItAfterCommit() throws Exception {
+        taskRepository.updateFields(task.getId(), Map.of("dueDate", LocalDate.of(2000, 1, 1)), null);
+        entityManagerFactory.getCache().evict(Task.class, task.getId());
+
+        boolean cached = loadThenCacheAfter(() -> taskRepository.escalateDueBy(LocalDate.of(2000, 1, 1), 10).stream()
+                .anyMatch(escalated -> escalated.getId().equals(task.getId())));
+
+        assertFalse(cached);
+        assertEquals(Urgency.URGENT, taskRepository.findById(task.getId()).orElseThrow().getUrgency());
+    }
+
+    /**
+     * Reproduces the race step by step: a read transaction loads the task without caching it, the write runs
+     * and commits on another thread, and only then does the read put what it loaded into the cache, as a slow
+     * {@code findById} would.
+     * @return Whether the second-level cache accepted the old state.
+     */
+    private boolean loadThenCacheAfter(Callable<Boolean> write) throws Exception {
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            return transactionTemplate.execute(status -> {
+                SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+                session.setCacheMode(CacheMode.IGNORE);
+                Task old = entityManager.find(Task.class, task.getId());
+                try {
+                    assertTrue(writer.submit(write).get(10, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+
+                EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Task.class);
+                EntityDataAccess cache = persister.getCacheAccessStrategy();
+                Object key = cache.generateCacheKey(old.getId(), persister, session.getFactory(),
+                        session.getTenantIdentifier());
+                Object entry = persister.getCacheEntryStructure().structure(
+                        persister.buildCacheEntry(old, persister.getValues(old), old.getVersion(), session));
+                return cache.putFromLoad(session, key, entry, old.getVersion());
+            });
+        } finally {
+            writer.shutdownNow();
+        }
+    }
+}
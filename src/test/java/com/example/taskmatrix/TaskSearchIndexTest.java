@@ -0,0 +1,113 @@
+package com.example.taskmatrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskSearchIndex index;
+
+    private record Text(Long getId, String getTitle, String getDetails) implements TaskRepository.TaskText {
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex(taskRepository, transactionManager, Duration.ofMillis(1));
+        when(taskRepository.streamText()).thenReturn(Stream.of(
+                new Text(1L, "Renew passport", "Book an appointment at the town hall"),
+                new Text(2L, "Call the plumber", "The kitchen tap is leaking; ask about the passport photo shop too"),
+                new Text(3L, "Quarterly report", null),
+                new Text(4L, "Report the leaking tap", "Landlord, not the plumber")));
+        index.rebuild();
+    }
+
+    private static Task task(Long id, String title, String details) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDetails(details);
+        return task;
+    }
+
+    @Test
+    void search_ranksTitleMatchesAboveDetailMatches() {
+        assertEquals(Optional.of(List.of(1L, 2L)), index.search("passport"));
+    }
+
+    @Test
+    void search_requiresEveryWordIgnoringCaseAndPunctuation() {
+        assertEquals(Optional.of(List.of(4L, 2L)), index.search("Leaking, TAP!"));
+        assertEquals(Optional.of(List.of(4L)), index.search("tap landlord"));
+        assertEquals(Optional.of(List.of()), index.search("tap dentist"));
+        assertEquals(Optional.of(List.of()), index.search("  ..."));
+    }
+
+    @Test
+    void onTaskChanged_reindexesUpdatedAndForgetsDeletedTasks() {
+        index.onTaskChanged(TaskChangedEvent.updated(task(3L, "Quarterly report", "Send to the plumber"), null, null));
+        index.onTaskChanged(TaskChangedEvent.deleted(2L));
+        index.onTaskChanged(TaskChangedEvent.created(task(5L, "Plumber invoice", null)));
+
+        assertEquals(Optional.of(List.of(5L, 3L, 4L)), index.search("plumber"));
+        assertEquals(Optional.of(List.of(1L)), index.search("passport"));
+    }
+
+    @Test
+    void search_beforeRebuild_isNotAnswered() {
+        TaskSearchIndex empty = new TaskSearchIndex(taskRepository, transactionManager, Duration.ofMillis(1));
+
+        assertFalse(empty.isReady());
+        assertEquals(Optional.empty(), empty.search("passport"));
+    }
+
+    @Test
+    void rebuild_whenQueryFails_leavesIndexNotReady() {
+        when(taskRepository.streamText()).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        assertThrows(DataAccessResourceFailureException.class, index::rebuild);
+        assertFalse(index.isReady());
+        assertEquals(Optional.empty(), index.search("passport"));
+    }
+
+    @Test
+    void rebuildWithRetry_retriesUntilQuerySucceeds() {
+        TaskSearchIndex retrying = new TaskSearchIndex(taskRepository, transactionManager, Duration.ofMillis(1));
+        when(taskRepository.streamText())
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenReturn(Stream.of(new Text(7L, "Renew passport", null)));
+
+        assertTrue(retrying.rebuildWithRetry());
+        assertTrue(retrying.isReady());
+        assertEquals(Optional.of(List.of(7L)), retrying.search("passport"));
+        verify(taskRepository, times(4)).streamText();
+    }
+
+    @Test
+    void tokenize_splitsOnNonAlphanumerics() {
+        assertEquals(List.of("fix", "bug", "42", "in", "café", "menu"), TaskSearchIndex.tokenize("Fix bug #42 in Café-menu"));
+        assertEquals(List.of(), TaskSearchIndex.tokenize(null));
+    }
+}
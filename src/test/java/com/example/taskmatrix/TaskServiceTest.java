@@ -1,22 +1,45 @@
 package com.example.taskmatrix;
 
+import com.example.taskmatrix.exception.PreconditionFailedException;
 import com.example.taskmatrix.exception.ResourceNotFoundException;
+import com.example.taskmatrix.exception.SearchIndexNotReadyException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.StringReader;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +48,33 @@ public class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private LabelTrigramIndex labelIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskColumnStore columnStore;
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private TaskQueryCache queryCache = new TaskQueryCache(16, 10_000);
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private TaskService taskService;
 
@@ -58,6 +108,7 @@ public class TaskServiceTest {
         assertNotNull(created);
         assertEquals("Test Task", created.getTitle());
         verify(taskRepository, times(1)).save(sampleTask);
+        verify(eventPublisher).publishEvent(TaskChangedEvent.created(sampleTask));
     }
 
     @Test
@@ -124,6 +175,240 @@ public class TaskServiceTest {
     }
 
 
+    @Test
+    void getAllTasks_labelFilter_isResolvedThroughTrigramIndex() {
+        when(labelIndex.findIdsContaining("TestLabel")).thenReturn(Optional.of(Set.of(1L)));
+        when(taskRepository.findAll(any(Specification.class), any(org.springframework.data.domain.Sort.class)))
+                .thenReturn(List.of(sampleTask));
+
+        List<Task> tasks = taskService.getAllTasks("TestLabel", null, null, null, null, null, "id", "asc");
+
+        assertEquals(List.of(sampleTask), tasks);
+        verify(labelIndex).findIdsContaining("TestLabel");
+    }
+
+    @Test
+    void getAllTasks_whenColumnStoreAnswers_loadsOnlyMatchingIdsInOrder() {
+        when(columnStore.findIds(null, null, null, Importance.IMPORTANT, null, null, "dueDate",
+                org.springframework.data.domain.Sort.Direction.DESC)).thenReturn(Optional.of(List.of(1L)));
+        when(taskRepository.findAllByIdInOrder(List.of(1L))).thenReturn(List.of(sampleTask));
+
+        List<Task> tasks = taskService.getAllTasks(null, null, null, Importance.IMPORTANT, null, null, "dueDate", "desc");
+
+        assertEquals(List.of(sampleTask), tasks);
+        verify(taskRepository, never()).findAll(any(Specification.class), any(org.springframework.data.domain.Sort.class));
+    }
+
+    @Test
+    void searchTasks_withFilters_keepsRankOrderOfMatchingTasks() {
+        Task second = new Task();
+        second.setId(2L);
+        when(searchIndex.search("tap")).thenReturn(Optional.of(List.of(2L, 3L, 1L)));
+        // The repository returns the filtered tasks in its own order.
+        when(taskRepository.findAll(any(Specification.class))).thenReturn(List.of(sampleTask, second));
+
+        List<Task> tasks = taskService.searchTasks("tap", null, null, null, Importance.IMPORTANT, null, null, 10);
+
+        assertEquals(List.of(second, sampleTask), tasks);
+    }
+
+    @Test
+    void searchTasks_withoutFilters_loadsOnlyTheTopHits() {
+        when(searchIndex.search("tap")).thenReturn(Optional.of(List.of(2L, 3L, 1L)));
+        when(taskRepository.findAllByIdInOrder(List.of(2L, 3L))).thenReturn(List.of(sampleTask));
+
+        taskService.searchTasks("tap", null, null, null, null, null, null, 2);
+
+        verify(taskRepository).findAllByIdInOrder(List.of(2L, 3L));
+    }
+
+    @Test
+    void searchTasks_whileIndexIsBuilding_throws() {
+        when(searchIndex.search("tap")).thenReturn(Optional.empty());
+
+        assertThrows(SearchIndexNotReadyException.class,
+                () -> taskService.searchTasks("tap", null, null, null, null, null, null, 10));
+    }
+
+    @Test
+    void searchTasks_withoutWords_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.searchTasks(" - ", null, null, null, null, null, null, 10));
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void getAllTasks_recordsTimerTaggedWithActiveFilters() {
+        when(taskRepository.findAll(any(Specification.class), any(org.springframework.data.domain.Sort.class)))
+                .thenReturn(List.of(sampleTask));
+
+        taskService.getAllTasks(null, LocalDate.now(), null, null, null, Quadrant.IMPORTANT_URGENT, "dueDate", "asc");
+
+        Timer timer = meterRegistry.find(TaskService.QUERY_TIMER)
+                .tag("label", "false")
+                .tag("dueDateBefore", "true")
+                .tag("dueDateAfter", "false")
+                .tag("quadrant", "true")
+                .tag("sortBy", "dueDate")
+                .tag("exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void getAllTasks_repeatedQuery_isServedFromCacheUntilNextWrite() {
+        when(taskRepository.findAll(any(Specification.class), any(org.springframework.data.domain.Sort.class)))
+                .thenReturn(List.of(sampleTask));
+
+        taskService.getAllTasks("TestLabel", null, null, null, null, null, "title", "asc");
+        // Same query after normalization: label case and an invalid sort direction do not matter.
+        taskService.getAllTasks("testlabel", null, null, null, null, null, "title", "bogus");
+        verify(taskRepository, times(1)).findAll(any(Specification.class), any(org.springframework.data.domain.Sort.class));
+
+        queryCache.onTaskChanged(TaskChangedEvent.deleted(1L));
+        taskService.getAllTasks("TestLabel", null, null, null, null, null, "title", "asc");
+        verify(taskRepository, times(2)).findAll(any(Specification.class), any(org.springframework.data.domain.Sort.class));
+    }
+
+    @Test
+    void getFacets_combinesAggregateCounts() {
+        Map<Quadrant, Long> quadrants = new EnumMap<>(Quadrant.class);
+        quadrants.put(Quadrant.IMPORTANT_URGENT, 2L);
+        quadrants.put(Quadrant.NOT_IMPORTANT_NOT_URGENT, 3L);
+        when(taskRepository.countByQuadrant(any())).thenReturn(quadrants);
+        when(taskRepository.countByLabel(any())).thenReturn(Map.of("TestLabel", 5L));
+        when(taskRepository.countByDueDateBucket(any(), eq(LocalDate.now()))).thenReturn(Map.of(DueDateBucket.TODAY, 5L));
+
+        TaskFacets facets = taskService.getFacets(null, null, null, Importance.IMPORTANT, null, null);
+
+        assertEquals(5L, facets.total());
+        assertEquals(quadrants, facets.quadrants());
+        assertEquals(Map.of("TestLabel", 5L), facets.labels());
+        assertEquals(Map.of(DueDateBucket.TODAY, 5L), facets.dueDates());
+        verify(taskRepository, never()).findAll(any(Specification.class), any(org.springframework.data.domain.Sort.class));
+    }
+
+    @Test
+    void getQuadrantCounts_runsOnlyTheQuadrantAggregate() {
+        Map<Quadrant, Long> quadrants = new EnumMap<>(Quadrant.class);
+        quadrants.put(Quadrant.IMPORTANT_URGENT, 2L);
+        when(taskRepository.countByQuadrant(any())).thenReturn(quadrants);
+
+        assertEquals(quadrants, taskService.getQuadrantCounts("TestLabel", null, null, null, null, null));
+        verify(taskRepository, never()).countByLabel(any());
+        verify(taskRepository, never()).countByDueDateBucket(any(), any());
+    }
+
+    @Test
+    void getTasksPage_moreRowsThanLimit_returnsNextCursor() {
+        Task second = createTask(2L, "Second", Importance.IMPORTANT, Urgency.URGENT);
+        Task third = createTask(3L, "Third", Importance.IMPORTANT, Urgency.URGENT);
+        when(taskRepository.findBy(any(Specification.class), any())).thenReturn(List.of(sampleTask, second, third));
+
+        TaskPage page = taskService.getTasksPage(null, null, null, null, null, null, "title", "asc", null, 2);
+
+        assertEquals(2, page.tasks().size());
+        assertTrue(page.hasNext());
+        TaskCursor cursor = TaskCursor.decode(page.nextCursor());
+        assertEquals("title", cursor.getSortField());
+        assertEquals("Second", cursor.getValue());
+        assertEquals(2L, cursor.getId());
+    }
+
+    @Test
+    void getTasksPage_lastPage_hasNoNextCursor() {
+        when(taskRepository.findBy(any(Specification.class), any())).thenReturn(List.of(sampleTask));
+
+        TaskPage page = taskService.getTasksPage(null, null, null, null, null, null, "id", "asc", null, 2);
+
+        assertEquals(1, page.tasks().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void getTasksPage_limitOutOfRange_throwsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                taskService.getTasksPage(null, null, null, null, null, null, "id", "asc", null, 0));
+        assertThrows(IllegalArgumentException.class, () ->
+                taskService.getTasksPage(null, null, null, null, null, null, "id", "asc", null, TaskService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getTasksPage_cursorForDifferentSort_throwsException() {
+        String cursor = new TaskCursor("dueDate", org.springframework.data.domain.Sort.Direction.ASC, LocalDate.now(), 1L).encode();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                taskService.getTasksPage(null, null, null, null, null, null, "title", "asc", cursor, 10));
+        assertEquals("Cursor does not match the requested sort order.", exception.getMessage());
+        verify(taskRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void getTaskFields_selectsIdAndRequestedFieldsOnly() {
+        Map<String, Object> row = Map.of("id", 1L, "title", "Test Task");
+        when(taskRepository.findFields(any(Specification.class), any(org.springframework.data.domain.Sort.class),
+                eq(List.of("id", "title", "dueDate")), eq(0))).thenReturn(List.of(row));
+
+        List<Map<String, Object>> tasks = taskService.getTaskFields(
+                null, null, null, null, null, null, "id", "asc", " title, dueDate,title ");
+
+        assertEquals(List.of(row), tasks);
+    }
+
+    @Test
+    void getTaskFields_unknownField_throwsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                taskService.getTaskFields(null, null, null, null, null, null, "id", "asc", "title,secret"));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getTaskFieldsPage_moreRowsThanLimit_returnsNextCursorAndDropsSortField() {
+        when(taskRepository.findFields(any(Specification.class), any(org.springframework.data.domain.Sort.class),
+                eq(List.of("id", "title", "dueDate")), eq(3))).thenReturn(List.of(
+                Map.of("id", 1L, "title", "First", "dueDate", LocalDate.of(2025, 1, 1)),
+                Map.of("id", 2L, "title", "Second", "dueDate", LocalDate.of(2025, 1, 2)),
+                Map.of("id", 3L, "title", "Third", "dueDate", LocalDate.of(2025, 1, 3))));
+
+        TaskFieldsPage page = taskService.getTaskFieldsPage(
+                null, null, null, null, null, null, "dueDate", "asc", null, 2, "title");
+
+        assertEquals(List.of(Map.of("id", 1L, "title", "First"), Map.of("id", 2L, "title", "Second")), page.tasks());
+        TaskCursor cursor = TaskCursor.decode(page.nextCursor());
+        assertEquals("dueDate", cursor.getSortField());
+        assertEquals(LocalDate.of(2025, 1, 2), cursor.getValue());
+        assertEquals(2L, cursor.getId());
+    }
+
+    @Test
+    void taskCursor_roundTripsNullAndEnumValues() {
+        TaskCursor nullLabel = TaskCursor.decode(
+                new TaskCursor("label", org.springframework.data.domain.Sort.Direction.DESC, null, 7L).encode());
+        assertNull(nullLabel.getValue());
+        assertEquals(7L, nullLabel.getId());
+
+        TaskCursor importance = TaskCursor.decode(TaskCursor.after(sampleTask, "importance",
+                org.springframework.data.domain.Sort.Direction.ASC).encode());
+        assertEquals(Importance.IMPORTANT, importance.getValue());
+
+        assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode("not-a-cursor"));
+    }
+
+
+    @Test
+    void streamTasks_passesEachTaskToConsumerAndDetachesIt() {
+        Task second = createTask(2L, "Second", Importance.NOT_IMPORTANT, Urgency.URGENT);
+        when(taskRepository.findBy(any(Specification.class), any())).thenReturn(Stream.of(sampleTask, second));
+
+        List<Task> received = new ArrayList<>();
+        taskService.streamTasks(null, null, null, null, null, null, "id", "asc", received::add);
+
+        assertEquals(List.of(sampleTask, second), received);
+        verify(entityManager).detach(sampleTask);
+        verify(entityManager).detach(second);
+    }
+
     @Test
     void getTaskById_exists_returnsTask() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTask));
@@ -154,6 +439,42 @@ public class TaskServiceTest {
         verify(taskRepository, times(1)).save(sampleTask);
     }
 
+    @Test
+    void updateTaskWithPreviousQuadrant_reportsQuadrantBeforeUpdate() {
+        Task updatedDetails = createTask(1L, "Updated Task", Importance.NOT_IMPORTANT, Urgency.NOT_URGENT);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTask));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskUpdate update = taskService.updateTaskWithPreviousQuadrant(1L, updatedDetails);
+
+        assertEquals(Quadrant.IMPORTANT_URGENT, update.previousQuadrant());
+        assertEquals(Quadrant.NOT_IMPORTANT_NOT_URGENT, update.task().getQuadrant());
+        verify(taskRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void updateTask_staleExpectedVersion_throwsPreconditionFailed() {
+        sampleTask.setVersion(3L);
+        Task updatedDetails = createTask(1L, "Updated Task", Importance.IMPORTANT, Urgency.URGENT);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTask));
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTask(1L, updatedDetails, 2L));
+        verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateTask_concurrentUpdate_throwsPreconditionFailed() {
+        sampleTask.setVersion(3L);
+        Task updatedDetails = createTask(1L, "Updated Task", Importance.IMPORTANT, Urgency.URGENT);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTask));
+        when(taskRepository.save(any(Task.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTask(1L, updatedDetails, 3L));
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void updateTask_notFound_throwsResourceNotFoundException() {
         Task updatedDetails = createTask(2L, "Updated Task", Importance.IMPORTANT, Urgency.URGENT);
@@ -201,23 +522,200 @@ public class TaskServiceTest {
     }
 
 
+    @Test
+    void createTasks_invalidItem_isReportedAndValidItemsAreSaved() {
+        Task valid = createTask(99L, "Valid", Importance.IMPORTANT, Urgency.URGENT);
+        Task invalid = createTask(null, "Missing urgency", Importance.IMPORTANT, null);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> saved = invocation.getArgument(0);
+            saved.forEach(task -> task.setId(10L));
+            return saved;
+        });
+
+        BatchResult result = taskService.createTasks(List.of(valid, invalid));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(1, result.failed());
+        assertTrue(result.items().get(0).success());
+        assertEquals(10L, result.items().get(0).id());
+        assertFalse(result.items().get(1).success());
+        assertEquals("Task urgency cannot be null.", result.items().get(1).error());
+        verify(taskRepository).saveAll(List.of(valid));
+    }
+
+    @Test
+    void createTasks_emptyBatch_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(List.of()));
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    // Session extends EntityManager, so it is mocked here rather than as a field that @InjectMocks could pick up.
+    private Session runImportChunksInline() {
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        return session;
+    }
+
+    @Test
+    void importTasks_insertsValidRowsInChunksAndClearsContext() {
+        Session session = runImportChunksInline();
+        StringBuilder csv = new StringBuilder("Title,Importance,Urgency,dueDate\n");
+        for (int i = 0; i <= TaskService.IMPORT_CHUNK_SIZE; i++) {
+            csv.append("Task ").append(i).append(",important,NOT_URGENT,2030-01-31\n");
+        }
+
+        ImportResult result = taskService.importTasks(new StringReader(csv.toString()));
+
+        assertEquals(new ImportResult(TaskService.IMPORT_CHUNK_SIZE + 1, 0, List.of(), false, true), result);
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(taskRepository, times(2)).saveAll(anyList());
+        verify(taskRepository, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(session, times(2)).setCacheMode(CacheMode.IGNORE);
+        verify(eventPublisher, times(TaskService.IMPORT_CHUNK_SIZE + 1)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void importTasks_invalidRows_areReportedByLineAndSkipped() {
+        runImportChunksInline();
+        String csv = """
+                title,details,importance,urgency,dueDate
+                Valid,"spans
+                two lines",IMPORTANT,URGENT,
+                Bad importance,,SOMEWHAT,URGENT,
+                ,,IMPORTANT,URGENT,
+                Too few fields,IMPORTANT
+                Bad date,,IMPORTANT,URGENT,31/01/2030
+                """;
+
+        ImportResult result = taskService.importTasks(new StringReader(csv));
+
+        assertEquals(1, result.imported());
+        assertEquals(4, result.failed());
+        assertEquals(List.of(4L, 5L, 6L, 7L), result.errors().stream().map(ImportResult.LineError::line).toList());
+        assertEquals("Task title cannot be null or empty.", result.errors().get(1).error());
+        assertTrue(result.complete());
+        verify(taskRepository).saveAll(argThat((List<Task> tasks) ->
+                tasks.size() == 1 && tasks.get(0).getDetails().equals("spans\ntwo lines")));
+    }
+
+    @Test
+    void importTasks_malformedCsv_stopsAndKeepsEarlierRows() {
+        runImportChunksInline();
+
+        ImportResult result = taskService.importTasks(new StringReader(
+                "title,importance,urgency\nFirst,IMPORTANT,URGENT\n\"Unclosed,IMPORTANT,URGENT\nLast,IMPORTANT,URGENT\n"));
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(3L, result.errors().get(0).line());
+        assertFalse(result.complete());
+    }
+
+    @Test
+    void importTasks_invalidHeader_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.importTasks(new StringReader("")));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.importTasks(new StringReader("title,importance,priority\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.importTasks(new StringReader("title,importance\nA,IMPORTANT\n")));
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void updateTasks_appliesKnownTasksAndReportsUnknownIds() {
+        Task update = createTask(1L, "Renamed", Importance.NOT_IMPORTANT, Urgency.URGENT);
+        Task unknown = createTask(2L, "Unknown", Importance.IMPORTANT, Urgency.URGENT);
+        when(taskRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(sampleTask));
+
+        BatchResult result = taskService.updateTasks(List.of(update, unknown));
+
+        assertEquals(1, result.succeeded());
+        assertEquals("Renamed", sampleTask.getTitle());
+        assertEquals(Importance.NOT_IMPORTANT, sampleTask.getImportance());
+        assertEquals("Task not found with id: 2", result.items().get(1).error());
+    }
+
+    @Test
+    void deleteTasks_deletesExistingAndReportsMissingIds() {
+        when(taskRepository.findExistingIds(any())).thenReturn(List.of(1L));
+
+        BatchResult result = taskService.deleteTasks(List.of(1L, 2L));
+
+        assertTrue(result.items().get(0).success());
+        assertEquals("Task not found with id: 2", result.items().get(1).error());
+        verify(taskRepository).deleteAllByIdInBatch(Set.of(1L));
+    }
+
     @Test
     void deleteTask_exists_deletesTask() {
-        when(taskRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(taskRepository).deleteById(1L);
-        taskService.deleteTask(1L);
-        verify(taskRepository, times(1)).existsById(1L);
-        verify(taskRepository, times(1)).deleteById(1L);
+        when(taskRepository.removeById(1L)).thenReturn(Optional.of(sampleTask));
+        assertSame(sampleTask, taskService.deleteTask(1L));
+        verify(taskRepository, times(1)).removeById(1L);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(1L));
     }
 
     @Test
     void deleteTask_notFound_throwsResourceNotFoundException() {
-        when(taskRepository.existsById(2L)).thenReturn(false);
+        when(taskRepository.removeById(2L)).thenReturn(Optional.empty());
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             taskService.deleteTask(2L);
         });
         assertEquals("Task not found with id: 2", exception.getMessage());
-        verify(taskRepository, times(1)).existsById(2L);
-        verify(taskRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patchTask_updatesOnlyPresentFieldsInOneStatement() {
+        Map<String, Object> patch = new java.util.LinkedHashMap<>();
+        patch.put("title", "Patched");
+        patch.put("label", null);
+        patch.put("dueDate", "2025-03-01");
+        patch.put("urgency", "NOT_URGENT");
+        Map<String, Object> changes = new java.util.LinkedHashMap<>();
+        changes.put("title", "Patched");
+        changes.put("label", null);
+        changes.put("dueDate", LocalDate.of(2025, 3, 1));
+        changes.put("urgency", Urgency.NOT_URGENT);
+        Task previous = createTask(1L, "Test Task", Importance.IMPORTANT, Urgency.URGENT);
+        previous.setLabel("Work");
+        Task patched = createTask(1L, "Patched", Importance.IMPORTANT, Urgency.NOT_URGENT);
+        when(taskRepository.updateFields(1L, changes, 4L))
+                .thenReturn(Optional.of(new TaskRepositoryCustom.FieldUpdate(previous, patched)));
+
+        Task result = taskService.patchTask(1L, patch, 4L);
+
+        assertSame(patched, result);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(patched, Quadrant.IMPORTANT_URGENT, "Work"));
+    }
+
+    @Test
+    void patchTask_invalidValues_throwIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(1L, Map.of("id", 5), null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(1L, Map.of("dueDate", "soon"), null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(1L, Map.of("importance", "HIGH"), null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(1L, Map.of("title", " "), null));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void patchTask_noRowUpdated_distinguishesStaleVersionFromMissingTask() {
+        when(taskRepository.updateFields(eq(1L), any(), eq(2L))).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.updateFields(eq(9L), any(), eq(2L))).thenReturn(Optional.empty());
+        when(taskRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(PreconditionFailedException.class,
+                () -> taskService.patchTask(1L, Map.of("title", "Patched"), 2L));
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.patchTask(9L, Map.of("title", "Patched"), 2L));
+        verifyNoInteractions(eventPublisher);
     }
 }
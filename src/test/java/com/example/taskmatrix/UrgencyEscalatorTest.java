@@ -0,0 +1,103 @@
+package com.example.taskmatrix;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UrgencyEscalatorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UrgencyEscalator escalator;
+
+    @BeforeEach
+    void setUp() {
+        escalator = new UrgencyEscalator(taskRepository, eventPublisher, true, Period.ofDays(2), 2, meterRegistry);
+    }
+
+    private static Task escalated(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setImportance(Importance.IMPORTANT);
+        task.setUrgency(Urgency.URGENT);
+        task.updateQuadrant();
+        return task;
+    }
+
+    @Test
+    void escalate_runsChunksUntilOneIsShort() {
+        when(taskRepository.escalateDueBy(TODAY.plusDays(2), 2))
+                .thenReturn(List.of(escalated(1L), escalated(2L)))
+                .thenReturn(List.of(escalated(3L), escalated(4L)))
+                .thenReturn(List.of(escalated(5L)));
+
+        assertEquals(5, escalator.escalate(TODAY));
+
+        verify(taskRepository, times(3)).escalateDueBy(TODAY.plusDays(2), 2);
+        assertEquals(5.0, meterRegistry.counter("taskmatrix.escalation.escalated").count());
+        assertEquals(1, meterRegistry.timer("taskmatrix.escalation.run").count());
+    }
+
+    @Test
+    void escalate_publishesUpdateForEveryEscalatedTask() {
+        when(taskRepository.escalateDueBy(any(), anyInt())).thenReturn(List.of(escalated(7L)));
+
+        escalator.escalate(TODAY);
+
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskChangedEvent.Type.UPDATED, event.getValue().type());
+        assertEquals(7L, event.getValue().taskId());
+        assertEquals(Quadrant.IMPORTANT_URGENT, event.getValue().task().getQuadrant());
+    }
+
+    @Test
+    void escalate_withNothingDue_runsOneStatementAndRecordsRun() {
+        when(taskRepository.escalateDueBy(any(), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, escalator.escalate(TODAY));
+
+        verify(taskRepository).escalateDueBy(TODAY.plusDays(2), 2);
+        verifyNoInteractions(eventPublisher);
+        assertEquals(1, meterRegistry.timer("taskmatrix.escalation.run").count());
+    }
+
+    @Test
+    void scheduledEscalation_whenDisabled_doesNothing() {
+        UrgencyEscalator disabled = new UrgencyEscalator(taskRepository, eventPublisher, false, Period.ofDays(1), 100, meterRegistry);
+
+        disabled.scheduledEscalation();
+
+        verifyNoInteractions(taskRepository, eventPublisher);
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new UrgencyEscalator(taskRepository, eventPublisher, true, Period.ofDays(1), 0, meterRegistry));
+    }
+}